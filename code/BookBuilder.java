@@ -0,0 +1,90 @@
+/**
+ * The BookBuilder class turns a GameDatabase of recorded games, such as
+ * one written by SelfPlay, into the opening book computer players consult
+ * before they start searching.
+ */
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import model.BitBoard;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import storage.GameDatabase;
+import storage.OpeningBook;
+
+public class BookBuilder {
+    private static final String DEFAULT_BOOK = "jungle-king.book";
+    private static final int DEFAULT_MAX_PLY = 12;
+
+    // Moves seen once are mostly noise and only make the book bigger
+    private static final int DEFAULT_MIN_GAMES = 2;
+
+    /**
+     * Builds the book.
+     *
+     * Usage: BookBuilder database [book] [maxPly] [minGames]
+     * reads the first maxPly moves of every game and keeps the moves played
+     * in at least minGames games. The book defaults to jungle-king.book in
+     * the working directory, where the game looks for it.
+     *
+     * @param args The database file, then optional book file, depth and
+     * minimum game count.
+     *
+     * Pre-condition: The database must have been written by GameDatabase.
+     * Post-condition: The book file is replaced; prints its size and the
+     * book moves of both starting positions.
+     * @throws Exception If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: BookBuilder database [book] [maxPly] [minGames]");
+            System.exit(1);
+        }
+        Path databaseFile = Paths.get(args[0]);
+        Path bookFile = Paths.get(args.length > 1 ? args[1] : DEFAULT_BOOK);
+        int maxPly = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PLY;
+        int minGames = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MIN_GAMES;
+
+        long start = System.nanoTime();
+        int games;
+        int entries;
+        try (GameDatabase database = GameDatabase.open(databaseFile)) {
+            games = database.getGameCount();
+            entries = OpeningBook.build(database, bookFile, maxPly, minGames);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%,d games, first %d plies: %,d book moves, %,d bytes, built in %.2f s%n",
+            games, maxPly, entries, Files.size(bookFile), elapsed / 1e9);
+
+        try (OpeningBook book = OpeningBook.open(bookFile)) {
+            printStart(book, "Blue", "Elephant", "Rat");
+            printStart(book, "Green", "Rat", "Elephant");
+        }
+    }
+
+    /**
+     * Prints the book moves of a starting position with their game counts
+     * and scores.
+     *
+     * @param book The open book.
+     * @param first The side moving first.
+     * @param piece1 Player 1's hidden piece.
+     * @param piece2 Player 2's hidden piece.
+     */
+    private static void printStart(OpeningBook book, String first, String piece1, String piece2) {
+        Game game = new Game();
+        game.determineFirstPlayer(piece1, piece2);
+        BitBoard position = game.getBoard().getBitBoard();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int[] games = new int[MoveGenerator.MAX_MOVES];
+        int[] points = new int[MoveGenerator.MAX_MOVES];
+        int found = book.probe(position, moves, games, points);
+
+        System.out.printf("%s to move first: %d book moves%n", first, found);
+        for (int i = 0; i < found; i++) {
+            System.out.printf("  %-8s %,8d games  %5.1f%%%n",
+                Move.toString(moves[i]), games[i], 50.0 * points[i] / games[i]);
+        }
+    }
+}
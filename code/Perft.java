@@ -0,0 +1,347 @@
+/**
+ * The Perft class counts the positions reachable from the starting setup
+ * to a fixed depth. The counts check the move generator and the piece
+ * rules, and the speed shows what a rule optimisation gained.
+ */
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import model.BitBoard;
+import model.Board;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import model.MoveResult;
+import model.Player;
+import model.PositionCodec;
+import model.pieces.Piece;
+import model.tiles.Tile;
+import storage.GameReplay;
+import storage.MoveJournal;
+
+public class Perft {
+    // REFERENCE[d] is the leaf count at depth d with Blue moving first
+    private static final long[] REFERENCE = {1L, 24L, 576L, 12_240L, 260_100L, 5_111_725L, 100_459_990L};
+
+    // Deepest depth the slow piece-class walk is compared at in --verify
+    private static final int RULES_VERIFY_DEPTH = 4;
+
+    /**
+     * Runs perft.
+     *
+     * Usage: Perft [depth] [--threads n] [--green] [--position text]
+     * [--journal file] [--rules] [--verify]
+     * --green lets Green move first, --position starts from a PositionCodec
+     * text position, --journal starts from the position a move journal
+     * ends at, --rules walks the tree through the piece classes instead of
+     * MoveGenerator, and --verify checks depths 1 to 6 against the
+     * reference counts.
+     *
+     * @param args Command-line options as above.
+     *
+     * Pre-condition: depth must be between 1 and 6 for a run to finish
+     * quickly; a position or journal must be readable.
+     * Post-condition: Prints divide output and nodes/s, or the verify
+     * results; exits with status 1 if any count is wrong.
+     * @throws Exception If a worker thread fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int depth = 5;
+        int threads = 1;
+        String first = "Blue";
+        String position = null;
+        Path journal = null;
+        boolean rules = false;
+        boolean verify = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--green": first = "Green"; break;
+                case "--position": position = args[++i]; break;
+                case "--journal": journal = Paths.get(args[++i]); break;
+                case "--rules": rules = true; break;
+                case "--verify": verify = true; break;
+                default: depth = Integer.parseInt(args[i]);
+            }
+        }
+
+        if (verify) {
+            System.exit(verify(threads) ? 0 : 1);
+        }
+
+        Game game = startingGame(first);
+        if (position != null) {
+            BitBoard loaded = new BitBoard();
+            PositionCodec.fromText(position, loaded);
+            game.setPosition(loaded);
+        } else if (journal != null) {
+            GameReplay replay = new GameReplay(MoveJournal.openSource(journal), GameReplay.DEFAULT_INTERVAL);
+            replay.seek(replay.getPlies());
+            game = replay.getGame();
+        }
+        if (rules) {
+            long[] disagreements = new long[1];
+            long start = System.nanoTime();
+            long nodes = perft(game, depth, disagreements);
+            report(depth, nodes, System.nanoTime() - start);
+            System.out.printf("%,d rule disagreements%n", disagreements[0]);
+        } else {
+            divide(game.getBoard().getBitBoard(), depth, threads);
+        }
+    }
+
+    /**
+     * Counts the leaves of the move tree using MoveGenerator.
+     *
+     * Pre-condition:
+     * - depth must be non-negative.
+     *
+     * Post-condition:
+     * - position is left unchanged.
+     * - A finished game or a side with no legal move is a leaf only at
+     *   depth 0; before that it adds nothing.
+     *
+     * @param position The position to count from.
+     * @param depth The number of plies to play.
+     * @param moves Move buffer with room for depth * MAX_MOVES entries.
+     * @return The number of leaf positions.
+     */
+    public static long perft(BitBoard position, int depth, int[] moves) {
+        if (depth == 0) return 1;
+        if (position.isGameOver()) return 0;
+        int offset = (depth - 1) * MoveGenerator.MAX_MOVES;
+        int count = MoveGenerator.generate(position, position.getSideToMove(), moves, offset);
+        if (depth == 1) return count;
+
+        long nodes = 0;
+        for (int i = offset; i < offset + count; i++) {
+            position.makeMove(moves[i]);
+            nodes += perft(position, depth - 1, moves);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaves of the move tree through the Game API: every piece
+     * of the current player is tried on every tile with Game.validateMove,
+     * which asks Piece.canMove, and every attack's outcome is checked
+     * against Piece.canCapture. Lion and Tiger leap through LeapTable and
+     * captures resolve through CaptureTable, so each leap is also checked
+     * with a walk over the lake tiles and each capture with canCapture;
+     * every disagreement is counted.
+     *
+     * Pre-condition:
+     * - The first player must have been determined.
+     * - disagreements must have at least one element.
+     *
+     * Post-condition:
+     * - game is left unchanged.
+     * - disagreements[0] is increased by every move where the tables and
+     *   the independent checks differ.
+     *
+     * @param game The game to count from.
+     * @param depth The number of plies to play.
+     * @param disagreements Counter of table and rule mismatches.
+     * @return The number of leaf positions.
+     */
+    public static long perft(Game game, int depth, long[] disagreements) {
+        if (depth == 0) return 1;
+        if (game.getGameState().checkVictory()) return 0;
+
+        long nodes = 0;
+        Player player = game.getCurrentPlayer();
+        Board board = game.getBoard();
+        // The mask is a snapshot, so captures below do not disturb the loop
+        for (int mask = player.getAliveMask(); mask != 0; mask &= mask - 1) {
+            Piece piece = player.getPiece(Integer.numberOfTrailingZeros(mask));
+            Tile from = piece.getPosition();
+            for (int row = 0; row < Board.getRows(); row++) {
+                for (int col = 0; col < Board.getCols(); col++) {
+                    Tile to = board.getTile(row, col);
+                    int distance = Math.abs(from.getRow() - row) + Math.abs(from.getCol() - col);
+                    if (distance > 1 && piece.canMove(to) != canLeap(board, piece, to)) {
+                        disagreements[0]++;
+                    }
+                    if (game.validateMove(piece, to) != MoveResult.OK) continue;
+                    if (depth == 1) {
+                        nodes++;
+                        continue;
+                    }
+                    Piece target = to.getCurrPiece();
+                    boolean attackerWins = target == null || piece.canCapture(target);
+                    int flags = target != null ? Move.CAPTURE : Move.NONE;
+                    if (distance > 1) {
+                        flags |= Move.LEAP;
+                    }
+                    game.makeMove(Move.encode(BitBoard.square(from), BitBoard.square(to), flags));
+                    if (piece.isCaptured() == attackerWins) {
+                        disagreements[0]++;
+                    }
+                    nodes += perft(game, depth - 1, disagreements);
+                    game.unmakeMove();
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Decides a lake leap by walking the tiles between the squares, the
+     * way the piece classes did before LeapTable, for comparison with
+     * Piece.canMove.
+     *
+     * @param board The board.
+     * @param piece The moving piece.
+     * @param to A tile at least two squares away.
+     * @return true if the piece may leap there.
+     */
+    private static boolean canLeap(Board board, Piece piece, Tile to) {
+        int animal = piece.getAnimal();
+        if (animal != BitBoard.LION && animal != BitBoard.TIGER) return false;
+        int ownDen = piece.getSide() == BitBoard.BLUE ? Tile.BLUE_HOME : Tile.GREEN_HOME;
+        if (to.getTerrain() == Tile.LAKE || to.getTerrain() == ownDen) return false;
+
+        Tile from = piece.getPosition();
+        int rowStep = Integer.signum(to.getRow() - from.getRow());
+        int colStep = Integer.signum(to.getCol() - from.getCol());
+        if (rowStep != 0 && colStep != 0) return false;
+        for (int row = from.getRow() + rowStep, col = from.getCol() + colStep;
+                row != to.getRow() || col != to.getCol(); row += rowStep, col += colStep) {
+            Tile tile = board.getTile(row, col);
+            if (tile.getTerrain() != Tile.LAKE
+                    || (tile.isOccupied() && tile.getCurrPiece().getAnimal() == BitBoard.RAT)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prints the leaf count below each root move, split across threads.
+     *
+     * @param root The position to count from.
+     * @param depth The number of plies to play.
+     * @param threads The number of worker threads.
+     * @throws Exception If a worker thread fails.
+     */
+    private static void divide(BitBoard root, int depth, int threads) throws Exception {
+        int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+        long start = System.nanoTime();
+        long[] counts = splitRoot(root, depth, threads, rootMoves);
+        long elapsed = System.nanoTime() - start;
+
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+            System.out.printf("%-10s %,d%n", Move.toString(rootMoves[i]), counts[i]);
+        }
+        System.out.println();
+        report(depth, total, elapsed);
+    }
+
+    /**
+     * Counts the leaves below each root move, one task per move.
+     *
+     * @param root The position to count from.
+     * @param depth The number of plies to play, at least 1.
+     * @param threads The number of worker threads.
+     * @param rootMoves Receives the root moves.
+     * @return The leaf count below each root move.
+     * @throws Exception If a worker thread fails.
+     */
+    private static long[] splitRoot(BitBoard root, int depth, int threads, int[] rootMoves) throws Exception {
+        int count = MoveGenerator.generate(root, root.getSideToMove(), rootMoves, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                final int move = rootMoves[i];
+                results.add(pool.submit(() -> {
+                    BitBoard position = new BitBoard();
+                    position.copyFrom(root);
+                    position.makeMove(move);
+                    return perft(position, depth - 1, new int[depth * MoveGenerator.MAX_MOVES]);
+                }));
+            }
+            long[] counts = new long[count];
+            for (int i = 0; i < count; i++) {
+                counts[i] = results.get(i).get();
+            }
+            return counts;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Checks depths 1 to 6 against the reference counts, and the
+     * piece-class walk against MoveGenerator for the shallow depths.
+     *
+     * @param threads The number of worker threads for the divide runs.
+     * @return true if every count matched.
+     * @throws Exception If a worker thread fails.
+     */
+    private static boolean verify(int threads) throws Exception {
+        boolean ok = true;
+        for (int depth = 1; depth < REFERENCE.length; depth++) {
+            BitBoard position = startingGame("Blue").getBoard().getBitBoard();
+            long start = System.nanoTime();
+            long nodes = perft(position, depth, new int[depth * MoveGenerator.MAX_MOVES]);
+            long elapsed = Math.max(1, System.nanoTime() - start);
+            boolean match = nodes == REFERENCE[depth];
+            ok &= match;
+            System.out.printf("depth %d  %,15d  %-8s %,15.0f nodes/s%n",
+                depth, nodes, match ? "ok" : "EXPECTED " + REFERENCE[depth], nodes * 1e9 / elapsed);
+        }
+        for (int depth = 1; depth <= RULES_VERIFY_DEPTH; depth++) {
+            long[] disagreements = new long[1];
+            long nodes = perft(startingGame("Blue"), depth, disagreements);
+            boolean match = nodes == REFERENCE[depth] && disagreements[0] == 0;
+            ok &= match;
+            System.out.printf("rules %d  %,15d  %s%n", depth, nodes, match ? "ok"
+                : "EXPECTED " + REFERENCE[depth] + ", " + disagreements[0] + " rule disagreements");
+        }
+        // The setup is point-symmetric, so Green first must count the same
+        BitBoard green = startingGame("Green").getBoard().getBitBoard();
+        long greenNodes = 0;
+        for (long nodes : splitRoot(green, REFERENCE.length - 2, threads, new int[MoveGenerator.MAX_MOVES])) {
+            greenNodes += nodes;
+        }
+        boolean match = greenNodes == REFERENCE[REFERENCE.length - 2];
+        ok &= match;
+        System.out.printf("green %d  %,15d  %s%n", REFERENCE.length - 2, greenNodes,
+            match ? "ok" : "EXPECTED " + REFERENCE[REFERENCE.length - 2]);
+        System.out.println(ok ? "All counts match." : "Counts differ from the reference.");
+        return ok;
+    }
+
+    /**
+     * Creates a game at the starting setup with the given side to move.
+     *
+     * @param first "Blue" or "Green".
+     * @return The new game.
+     */
+    private static Game startingGame(String first) {
+        Game game = new Game();
+        // Player 1 is Blue; the stronger pick moves first
+        if (first.equals("Blue")) {
+            game.determineFirstPlayer("Elephant", "Rat");
+        } else {
+            game.determineFirstPlayer("Rat", "Elephant");
+        }
+        return game;
+    }
+
+    /**
+     * Prints the total and the speed of a run.
+     */
+    private static void report(int depth, long nodes, long elapsed) {
+        System.out.printf("depth %d: %,d nodes in %.3f s, %,.0f nodes/s%n",
+            depth, nodes, elapsed / 1e9, nodes * 1e9 / Math.max(1, elapsed));
+    }
+}
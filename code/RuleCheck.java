@@ -0,0 +1,154 @@
+/**
+ * The RuleCheck class proves that CaptureTable agrees with the piece
+ * classes. It places every attacker and defender pair on every pair of
+ * squares an attack can cross and compares the table with
+ * Game.validateMove and canCapture.
+ */
+import model.BitBoard;
+import model.Board;
+import model.CaptureTable;
+import model.Game;
+import model.LeapTable;
+import model.MoveGenerator;
+import model.MoveResult;
+import model.pieces.*;
+import model.tiles.Tile;
+
+public class RuleCheck {
+    private static final String[] SIDES = {"Blue", "Green"};
+
+    /**
+     * Runs the check.
+     *
+     * @param args Command-line arguments (not used in this program).
+     *
+     * Pre-condition: None.
+     * Post-condition: Prints the number of attacks checked and every
+     * mismatch; exits with status 1 if there was any.
+     */
+    public static void main(String[] args) {
+        Game game = new Game();
+        Board board = game.getBoard();
+        clear(board);
+
+        int checked = 0;
+        int mismatches = 0;
+        boolean[] covered = new boolean[BitBoard.ANIMALS * BitBoard.ANIMALS
+            * CaptureTable.TERRAINS * CaptureTable.TERRAINS];
+
+        for (int side = BitBoard.BLUE; side <= BitBoard.GREEN; side++) {
+            for (int attacker = 0; attacker < BitBoard.ANIMALS; attacker++) {
+                for (int defender = 0; defender < BitBoard.ANIMALS; defender++) {
+                    for (int from = 0; from < BitBoard.SQUARES; from++) {
+                        for (int dir = 0; dir < 8; dir++) {
+                            int to = attackTarget(attacker, from, dir);
+                            if (to < 0 || !standable(attacker, from) || !standable(defender, to)) continue;
+
+                            Tile fromTile = tileAt(board, from);
+                            Tile toTile = tileAt(board, to);
+                            Piece attacking = create(attacker, fromTile, SIDES[side]);
+                            Piece defending = create(defender, toTile, SIDES[side ^ 1]);
+
+                            int expected;
+                            if (game.validateMove(attacking, toTile) != MoveResult.OK) {
+                                expected = CaptureTable.ILLEGAL;
+                            } else if (attacking.canCapture(defending)) {
+                                expected = CaptureTable.ATTACKER_WINS;
+                            } else {
+                                expected = CaptureTable.DEFENDER_WINS;
+                            }
+                            int actual = CaptureTable.resolve(BitBoard.code(side, attacker), from,
+                                BitBoard.code(side ^ 1, defender), to);
+
+                            checked++;
+                            int fromTerrain = CaptureTable.terrainOf(side, from);
+                            int toTerrain = CaptureTable.terrainOf(side, to);
+                            covered[((attacker * BitBoard.ANIMALS + defender) * CaptureTable.TERRAINS
+                                + fromTerrain) * CaptureTable.TERRAINS + toTerrain] = true;
+                            if (actual != expected) {
+                                mismatches++;
+                                System.out.printf("%s %s at %s vs %s at %s: table %d, pieces %d%n",
+                                    SIDES[side], attacking.getName(), fromTile.getTilePos(),
+                                    defending.getName(), toTile.getTilePos(), actual, expected);
+                            }
+
+                            fromTile.setCurrPiece(null);
+                            toTile.setCurrPiece(null);
+                        }
+                    }
+                }
+            }
+        }
+
+        int entries = 0;
+        for (boolean entry : covered) {
+            if (entry) entries++;
+        }
+        System.out.printf("%,d attacks checked, %d of %d table entries reached, %d mismatches%n",
+            checked, entries, covered.length, mismatches);
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Gets the square an attack lands on: directions 0 to 3 step to the
+     * neighbouring square, 4 to 7 leap across the lake.
+     *
+     * @return The target square, or -1 if there is none.
+     */
+    private static int attackTarget(int animal, int from, int dir) {
+        if (dir < 4) {
+            return MoveGenerator.neighbor(from, dir);
+        }
+        if (animal == BitBoard.LION || animal == BitBoard.TIGER) {
+            return LeapTable.target(from, dir - 4);
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether an animal can stand on a square during play: nothing
+     * stays on a home base and only the rat swims.
+     */
+    private static boolean standable(int animal, int sq) {
+        long bit = BitBoard.bit(sq);
+        if (((BitBoard.BLUE_DEN_MASK | BitBoard.GREEN_DEN_MASK) & bit) != 0) return false;
+        return animal == BitBoard.RAT || (BitBoard.LAKE_MASK & bit) == 0;
+    }
+
+    private static Tile tileAt(Board board, int sq) {
+        return board.getTile(BitBoard.rowOf(sq), BitBoard.colOf(sq));
+    }
+
+    /**
+     * Empties every tile of the board and its bitboard.
+     */
+    private static void clear(Board board) {
+        for (int row = 0; row < Board.getRows(); row++) {
+            for (int col = 0; col < Board.getCols(); col++) {
+                board.getTile(row, col).setCurrPiece(null);
+            }
+        }
+        board.getBitBoard().clear();
+    }
+
+    /**
+     * Creates a piece of an animal on a tile.
+     */
+    private static Piece create(int animal, Tile tile, String owner) {
+        Piece piece;
+        switch (animal) {
+            case BitBoard.RAT: piece = new Rat(tile, owner); break;
+            case BitBoard.CAT: piece = new Cat(tile, owner); break;
+            case BitBoard.DOG: piece = new Dog(tile, owner); break;
+            case BitBoard.WOLF: piece = new Wolf(tile, owner); break;
+            case BitBoard.LEOPARD: piece = new Leopard(tile, owner); break;
+            case BitBoard.TIGER: piece = new Tiger(tile, owner); break;
+            case BitBoard.LION: piece = new Lion(tile, owner); break;
+            default: piece = new Elephant(tile, owner);
+        }
+        tile.setCurrPiece(piece);
+        return piece;
+    }
+}
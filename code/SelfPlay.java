@@ -0,0 +1,244 @@
+/**
+ * The SelfPlay class plays many complete games headlessly across all
+ * cores and reports throughput and results. It is used to soak-test rule
+ * changes and to measure simulation speed, and can record every game in
+ * a GameDatabase for analysis.
+ */
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import engine.AlphaBetaSearch;
+import engine.Evaluator;
+import engine.TranspositionTable;
+import model.BitBoard;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import storage.GameDatabase;
+
+public class SelfPlay {
+    // Games still running after this many plies are counted as draws
+    private static final int MAX_PLIES = 400;
+
+    private static final int DEFAULT_ENGINE_DEPTH = 3;
+    private static final int ENGINE_TABLE_MB = 4;
+
+    // Generous bound; engine players are limited by depth, not time
+    private static final long ENGINE_TIME_MILLIS = 60_000;
+
+    /**
+     * Picks a move for the side to move.
+     */
+    private interface Mover {
+        int choose(BitBoard position, int[] moves, int count, SplittableRandom random);
+    }
+
+    /**
+     * Runs the simulator.
+     *
+     * Usage: SelfPlay [games] [blue] [green] [seed] [threads] [database]
+     * where blue and green are random, greedy, engine or engine:depth. If a
+     * database file is given it is replaced by one holding every game.
+     *
+     * @param args Optional game count, player kinds, seed, thread count and
+     * database file.
+     *
+     * Pre-condition: Player kinds must be one of the names above.
+     * Post-condition: Prints games/s, average length, win split by side and
+     * the first player's advantage.
+     * @throws Exception If a game thread fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        String blueKind = args.length > 1 ? args[1] : "random";
+        String greenKind = args.length > 2 ? args[2] : "random";
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+        int threads = args.length > 4 ? Integer.parseInt(args[4])
+            : Runtime.getRuntime().availableProcessors();
+        GameDatabase database = args.length > 5
+            ? GameDatabase.create(Paths.get(args[5]), games, (long) games * MAX_PLIES) : null;
+
+        // Game seeds are drawn up front so results do not depend on scheduling
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long[] gameSeeds = new long[games];
+        for (int i = 0; i < games; i++) {
+            gameSeeds[i] = seeds.nextLong();
+        }
+
+        int[] plies = new int[games];
+        int[] winners = new int[games];
+        int[] firstSides = new int[games];
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        Future<?>[] workers = new Future<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            final int worker = t;
+            workers[t] = pool.submit(() -> {
+                Mover blue = createMover(blueKind);
+                Mover green = createMover(greenKind);
+                byte[] record = new byte[MAX_PLIES];
+                for (int i = worker; i < games; i += threads) {
+                    playGame(gameSeeds[i], blue, green, i, plies, winners, firstSides, record, database);
+                }
+                return null;
+            });
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        if (database != null) {
+            database.close();
+        }
+
+        report(games, threads, blueKind, greenKind, elapsed, plies, winners, firstSides);
+    }
+
+    /**
+     * Plays one game through the Game API and records its outcome.
+     *
+     * @param seed The game's random seed.
+     * @param blue The Blue player's move picker.
+     * @param green The Green player's move picker.
+     * @param index The game's index into the result arrays.
+     * @param plies Receives the game length.
+     * @param winners Receives the winning side, or EMPTY for a draw.
+     * @param firstSides Receives the side that moved first.
+     * @param record Buffer for the packed moves, MAX_PLIES long.
+     * @param database Receives the finished game, or null.
+     */
+    private static void playGame(long seed, Mover blue, Mover green, int index,
+            int[] plies, int[] winners, int[] firstSides, byte[] record, GameDatabase database) {
+        Random random = new Random(seed);
+        Game game = new Game();
+
+        // Each player picks a hidden piece, as on the selection screen
+        List<String> pieces = game.getShuffledPieces(random);
+        int pick1 = random.nextInt(pieces.size());
+        int pick2 = random.nextInt(pieces.size() - 1);
+        if (pick2 >= pick1) pick2++;
+        game.determineFirstPlayer(pieces.get(pick1), pieces.get(pick2));
+        SplittableRandom moveRandom = new SplittableRandom(random.nextLong());
+
+        BitBoard position = game.getBoard().getBitBoard();
+        firstSides[index] = position.getSideToMove();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int winner = BitBoard.EMPTY;
+        int ply = 0;
+
+        while (ply < MAX_PLIES) {
+            if (game.getGameState().checkVictory()) {
+                winner = BitBoard.sideOf(game.getGameState().getWinner().getName());
+                break;
+            }
+            int side = position.getSideToMove();
+            int count = MoveGenerator.generate(position, side, moves, 0);
+            if (count == 0) {
+                // A side with pieces but no legal move loses
+                winner = side ^ 1;
+                break;
+            }
+            Mover mover = side == BitBoard.BLUE ? blue : green;
+            int move = mover.choose(position, moves, count, moveRandom);
+            record[ply] = (byte) Move.pack(position, move);
+            game.makeMove(move);
+            ply++;
+        }
+        if (ply == MAX_PLIES && game.getGameState().checkVictory()) {
+            winner = BitBoard.sideOf(game.getGameState().getWinner().getName());
+        }
+
+        plies[index] = ply;
+        winners[index] = winner;
+        if (database != null) {
+            database.append(firstSides[index], winner, record, ply);
+        }
+    }
+
+    /**
+     * Creates a move picker from its command-line name.
+     *
+     * @param kind random, greedy, engine or engine:depth.
+     * @return A new move picker for one worker thread.
+     */
+    private static Mover createMover(String kind) {
+        if (kind.equals("random")) {
+            return (position, moves, count, random) -> moves[random.nextInt(count)];
+        }
+        if (kind.equals("greedy")) {
+            return (position, moves, count, random) -> greedyMove(position, moves, count);
+        }
+        if (kind.equals("engine") || kind.startsWith("engine:")) {
+            int depth = kind.contains(":")
+                ? Integer.parseInt(kind.substring(kind.indexOf(':') + 1)) : DEFAULT_ENGINE_DEPTH;
+            AlphaBetaSearch search = new AlphaBetaSearch(new TranspositionTable(ENGINE_TABLE_MB));
+            return (position, moves, count, random) -> search.search(position, ENGINE_TIME_MILLIS, depth);
+        }
+        throw new IllegalArgumentException("Unknown player kind: " + kind);
+    }
+
+    /**
+     * Picks the move with the best one-ply evaluation, taking a win at once.
+     * Ties go to the earliest move so the choice is reproducible.
+     *
+     * @param position The position, restored before returning.
+     * @param moves The legal moves.
+     * @param count The number of legal moves.
+     * @return The chosen move.
+     */
+    private static int greedyMove(BitBoard position, int[] moves, int count) {
+        int side = position.getSideToMove();
+        int best = moves[0];
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            int score;
+            if (position.isGameOver()) {
+                score = AlphaBetaSearch.WIN;
+            } else {
+                int eval = Evaluator.evaluate(position);
+                score = position.getSideToMove() == side ? eval : -eval;
+            }
+            position.unmakeMove();
+            if (score > bestScore) {
+                bestScore = score;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Prints the summary of all games.
+     */
+    private static void report(int games, int threads, String blueKind, String greenKind, long elapsed,
+            int[] plies, int[] winners, int[] firstSides) {
+        long totalPlies = 0;
+        int blueWins = 0;
+        int greenWins = 0;
+        int firstWins = 0;
+        for (int i = 0; i < games; i++) {
+            totalPlies += plies[i];
+            if (winners[i] == BitBoard.BLUE) blueWins++;
+            if (winners[i] == BitBoard.GREEN) greenWins++;
+            if (winners[i] == firstSides[i]) firstWins++;
+        }
+        int draws = games - blueWins - greenWins;
+        int decisive = blueWins + greenWins;
+
+        System.out.printf("%,d games (Blue %s vs Green %s) on %d threads%n", games, blueKind, greenKind, threads);
+        System.out.printf("%,.1f games/s, %,.0f plies/s, average length %.1f plies%n",
+            games * 1e9 / elapsed, totalPlies * 1e9 / elapsed, (double) totalPlies / games);
+        System.out.printf("Blue %,d (%.1f%%), Green %,d (%.1f%%), draws %,d (%.1f%%)%n",
+            blueWins, 100.0 * blueWins / games, greenWins, 100.0 * greenWins / games,
+            draws, 100.0 * draws / games);
+        System.out.printf("First player won %.1f%% of decisive games%n",
+            decisive == 0 ? 0.0 : 100.0 * firstWins / decisive);
+    }
+}
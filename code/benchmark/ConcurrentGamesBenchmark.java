@@ -0,0 +1,102 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import model.BitBoard;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import model.Zobrist;
+import model.pieces.Piece;
+import model.tiles.Tile;
+
+public class ConcurrentGamesBenchmark {
+    private static final int PLIES_PER_GAME = 200;
+
+/**
+ * Plays thousands of independent games on a thread pool and checks that
+ * each ends exactly as the same seeded game played alone does. A shared
+ * board between Game instances would make the two runs disagree.
+ *
+ * Usage: ConcurrentGamesBenchmark [games] [threads]
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Prints games/s and exits with status 1 if any game was disturbed.
+ *
+ * @param args Optional number of games and threads.
+ * @throws Exception If a game thread fails.
+ */
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1])
+            : Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        long[] expected = new long[games];
+        for (int i = 0; i < games; i++) {
+            expected[i] = playGame(i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            final int seed = i;
+            results.add(pool.submit(() -> playGame(seed)));
+        }
+        int mismatches = 0;
+        for (int i = 0; i < games; i++) {
+            if (results.get(i).get() != expected[i]) mismatches++;
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        System.out.printf("%,d games on %d threads: %,.0f games/s, %d mismatches%n",
+            games, threads, games * 1e9 / elapsed, mismatches);
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+/**
+ * Plays one seeded random game through the public Piece/Tile API.
+ *
+ * @param seed The game's random seed.
+ * @return The final position key, or -1 if the board and bitboard disagree.
+ */
+    private static long playGame(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Game game = new Game();
+        game.determineFirstPlayer(random.nextBoolean() ? "Elephant" : "Rat", "Cat");
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+        for (int ply = 0; ply < PLIES_PER_GAME && !game.getGameState().checkVictory(); ply++) {
+            int count = MoveGenerator.generate(game, moves);
+            if (count == 0) break;
+            int move = moves[random.nextInt(count)];
+            Tile from = game.getBoard().getTile(BitBoard.rowOf(Move.from(move)), BitBoard.colOf(Move.from(move)));
+            Tile to = game.getBoard().getTile(BitBoard.rowOf(Move.to(move)), BitBoard.colOf(Move.to(move)));
+            Piece piece = from.getCurrPiece();
+            game.movePiece(piece, to);
+            if (!game.getGameState().checkVictory()) {
+                game.switchTurn();
+            }
+            // Thread.yield widens the window in which a shared board would be overwritten
+            Thread.yield();
+        }
+
+        BitBoard fromTiles = new BitBoard();
+        fromTiles.load(game.getBoard());
+        fromTiles.setSideToMove(game.getBoard().getBitBoard().getSideToMove());
+        if (Zobrist.keyOf(fromTiles) != game.positionKey()) {
+            return -1;
+        }
+        return game.positionKey();
+    }
+}
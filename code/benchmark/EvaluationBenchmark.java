@@ -0,0 +1,114 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+import engine.Evaluator;
+import model.BitBoard;
+import model.Game;
+import model.MoveGenerator;
+import model.PieceSquareTable;
+
+public class EvaluationBenchmark {
+    private static final int CHECK_GAMES = 2000;
+    private static final int CHECK_PLIES = 300;
+
+/**
+ * Checks the incremental evaluation against a full recount over many
+ * random games, then shows that its per-move cost does not depend on the
+ * number of pieces while a full recount does.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Prints ops/s for make/unmake and evaluation on a full and a sparse
+ *   board, and exits with status 1 if the scores ever disagreed.
+ *
+ * @param args Command-line arguments (not used).
+ */
+    public static void main(String[] args) {
+        int mismatches = checkIncrementalScore();
+        System.out.printf("%,d random games checked, %d score mismatches%n", CHECK_GAMES, mismatches);
+
+        BitBoard full = startingPosition();
+        BitBoard sparse = startingPosition();
+        for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+            int code = sparse.pieceAt(sq);
+            if (code != BitBoard.EMPTY && BitBoard.animalOf(code) != BitBoard.RAT
+                    && BitBoard.animalOf(code) != BitBoard.ELEPHANT) {
+                sparse.remove(sq);
+            }
+        }
+
+        for (BitBoard position : new BitBoard[] {full, sparse}) {
+            int pieces = Long.bitCount(position.getAllOccupancy());
+            int[] moves = new int[MoveGenerator.MAX_MOVES];
+            int count = MoveGenerator.generate(position, position.getSideToMove(), moves, 0);
+
+            Harness.measure("make/unmake, " + pieces + " pieces", () -> {
+                long sum = 0;
+                for (int i = 0; i < count; i++) {
+                    position.makeMove(moves[i]);
+                    sum += position.getScore();
+                    position.unmakeMove();
+                }
+                Harness.consume(sum);
+                return count;
+            });
+
+            Harness.measure("incremental evaluate, " + pieces + " pieces", () -> {
+                Harness.consume(Evaluator.evaluate(position));
+                return 1;
+            });
+
+            Harness.measure("full recount, " + pieces + " pieces", () -> {
+                Harness.consume(PieceSquareTable.scoreOf(position));
+                return 1;
+            });
+        }
+
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+/**
+ * Plays random games, comparing the incremental score with a recount
+ * after every move and every take-back.
+ *
+ * @return The number of disagreements.
+ */
+    private static int checkIncrementalScore() {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int mismatches = 0;
+        for (int game = 0; game < CHECK_GAMES; game++) {
+            BitBoard position = startingPosition();
+            int played = 0;
+            while (played < CHECK_PLIES && !position.isGameOver()) {
+                int count = MoveGenerator.generate(position, position.getSideToMove(), moves, 0);
+                if (count == 0) break;
+                position.makeMove(moves[random.nextInt(count)]);
+                played++;
+                if (position.getScore() != PieceSquareTable.scoreOf(position)) mismatches++;
+            }
+            while (played-- > 0) {
+                position.unmakeMove();
+                if (position.getScore() != PieceSquareTable.scoreOf(position)) mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+/**
+ * Creates the starting position with Blue to move.
+ *
+ * @return A new bitboard.
+ */
+    private static BitBoard startingPosition() {
+        Game game = new Game();
+        game.determineFirstPlayer("Elephant", "Rat");
+        BitBoard position = new BitBoard();
+        position.copyFrom(game.getBoard().getBitBoard());
+        return position;
+    }
+}
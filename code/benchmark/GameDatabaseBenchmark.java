@@ -0,0 +1,217 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import model.BitBoard;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import storage.GameDatabase;
+import storage.PositionIndex;
+
+public class GameDatabaseBenchmark {
+    // Games still running after this many plies are stored as draws
+    private static final int MAX_PLIES = 400;
+
+    // Opening plies covered by the position index
+    private static final int INDEX_PLIES = 8;
+
+    // Scan rate the database is meant to reach on one core
+    private static final double TARGET_GAMES_PER_MINUTE = 10_000_000;
+
+/**
+ * Fills a database with random games from several writer threads, checks
+ * every game decodes to its stored result, then measures a full scan,
+ * random-access decoding and position index lookups.
+ *
+ * Usage: GameDatabaseBenchmark [games] [writers] [directory]
+ *
+ * Pre-condition:
+ * - The directory, default the system temporary directory, must be writable.
+ *
+ * Post-condition:
+ * - Prints append, scan, decode and lookup rates; the files are deleted.
+ *
+ * @param args Optional game count, writer threads and directory.
+ * @throws Exception If a file cannot be used or a writer fails.
+ */
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Path dir = Paths.get(args.length > 2 ? args[2] : System.getProperty("java.io.tmpdir"));
+        Path file = Files.createTempFile(dir, "games", ".db");
+        Path indexFile = Files.createTempFile(dir, "games", ".positions");
+
+        try (GameDatabase database = GameDatabase.create(file, games, (long) games * MAX_PLIES)) {
+            fill(database, games, writers);
+            System.out.printf("%,d games, file size %,d bytes%n", database.getGameCount(), Files.size(file));
+            verify(database);
+            benchmarkScan(database);
+            benchmarkDecode(database);
+            benchmarkIndex(database, indexFile);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+/**
+ * Appends random games from several threads at once.
+ */
+    private static void fill(GameDatabase database, int games, int writers) throws InterruptedException {
+        Thread[] threads = new Thread[writers];
+        long start = System.nanoTime();
+        for (int t = 0; t < writers; t++) {
+            final int writer = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(writer);
+                BitBoard position = new BitBoard();
+                BitBoard[] starts = {startingSetup(BitBoard.BLUE), startingSetup(BitBoard.GREEN)};
+                int[] moves = new int[MoveGenerator.MAX_MOVES];
+                byte[] record = new byte[MAX_PLIES];
+                for (int i = writer; i < games; i += writers) {
+                    int firstSide = random.nextInt(2);
+                    position.copyFrom(starts[firstSide]);
+                    int winner = BitBoard.EMPTY;
+                    int ply = 0;
+                    while (ply < MAX_PLIES && !position.isGameOver()) {
+                        int count = MoveGenerator.generate(position, position.getSideToMove(), moves, 0);
+                        if (count == 0) {
+                            winner = position.getSideToMove() ^ 1;
+                            break;
+                        }
+                        int move = moves[random.nextInt(count)];
+                        record[ply++] = (byte) Move.pack(position, move);
+                        position.makeMove(move);
+                    }
+                    if (position.isGameOver()) {
+                        winner = position.getWinner();
+                    }
+                    database.append(firstSide, winner, record, ply);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-45s %,15.0f games/s (%d writers, including play)%n",
+            "append", games * 1e9 / elapsed, writers);
+    }
+
+/**
+ * Decodes every game and checks its moves are legal and lead to the
+ * stored winner.
+ */
+    private static void verify(GameDatabase database) {
+        BitBoard position = new BitBoard();
+        int[] legal = new int[MoveGenerator.MAX_MOVES];
+        int[] mismatches = new int[1];
+        database.forEach((db, game) -> {
+            db.startPosition(game, position);
+            boolean ok = true;
+            for (int ply = 0; ply < db.getPlies(game) && ok; ply++) {
+                int move = Move.unpack(position, db.getPackedMove(game, ply));
+                ok = contains(legal, MoveGenerator.generate(position, position.getSideToMove(), legal, 0), move);
+                position.makeMove(move);
+            }
+            if (!ok || (position.isGameOver() && position.getWinner() != db.getWinner(game))) {
+                mismatches[0]++;
+            }
+        });
+        System.out.printf("every game replayed, %d mismatches%n", mismatches[0]);
+    }
+
+/**
+ * Scans the whole database, reading each game's result and every move
+ * byte, as an analysis pass would.
+ */
+    private static void benchmarkScan(GameDatabase database) {
+        int games = database.getGameCount();
+        double rate = Harness.measure("scan all games", () -> {
+            long[] sum = new long[1];
+            database.forEach((db, game) -> {
+                long total = db.getWinner(game);
+                int plies = db.getPlies(game);
+                for (int ply = 0; ply < plies; ply++) {
+                    total += db.getPackedMove(game, ply);
+                }
+                sum[0] += total;
+            });
+            Harness.consume(sum[0]);
+            return games;
+        });
+        System.out.printf("  %,.1fM games/minute (target %,.0fM)%n",
+            rate * 60 / 1e6, TARGET_GAMES_PER_MINUTE / 1e6);
+    }
+
+/**
+ * Decodes randomly chosen games back into encoded moves.
+ */
+    private static void benchmarkDecode(GameDatabase database) {
+        int games = database.getGameCount();
+        SplittableRandom random = new SplittableRandom(1);
+        BitBoard position = new BitBoard();
+        int[] moves = new int[MAX_PLIES];
+        Harness.measure("random-access decode", () -> {
+            Harness.consume(database.readMoves(random.nextInt(games), position, moves));
+            return 1;
+        });
+    }
+
+/**
+ * Builds the opening position index and measures lookups of positions
+ * taken from the games themselves.
+ */
+    private static void benchmarkIndex(GameDatabase database, Path indexFile) throws IOException {
+        long start = System.nanoTime();
+        PositionIndex.build(database, indexFile, INDEX_PLIES);
+        System.out.printf("position index of the first %d plies built in %.2f s%n",
+            INDEX_PLIES, (System.nanoTime() - start) / 1e9);
+
+        long[] keys = new long[4096];
+        SplittableRandom random = new SplittableRandom(2);
+        BitBoard position = new BitBoard();
+        for (int i = 0; i < keys.length; i++) {
+            int game = random.nextInt(database.getGameCount());
+            database.startPosition(game, position);
+            int plies = Math.min(1 + random.nextInt(INDEX_PLIES), database.getPlies(game));
+            for (int ply = 0; ply < plies; ply++) {
+                position.makeMove(Move.unpack(position, database.getPackedMove(game, ply)));
+            }
+            keys[i] = position.getKey();
+        }
+
+        try (PositionIndex index = PositionIndex.open(indexFile)) {
+            System.out.printf("%,d index entries, start position in %,d games%n",
+                index.size(), index.find(startingSetup(BitBoard.BLUE).getKey(), new int[0]));
+            int[] found = new int[16];
+            Harness.measure("PositionIndex.find", () -> {
+                long total = 0;
+                for (long key : keys) {
+                    total += index.find(key, found);
+                }
+                Harness.consume(total);
+                return keys.length;
+            });
+        }
+    }
+
+    private static boolean contains(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) return true;
+        }
+        return false;
+    }
+
+    private static BitBoard startingSetup(int firstSide) {
+        Game game = new Game();
+        game.determineFirstPlayer(firstSide == BitBoard.BLUE ? "Elephant" : "Rat",
+            firstSide == BitBoard.BLUE ? "Rat" : "Elephant");
+        return game.getBoard().getBitBoard();
+    }
+}
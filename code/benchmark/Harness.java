@@ -0,0 +1,106 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+
+public final class Harness {
+    private static final long DEFAULT_WARMUP_MS = 1000;
+    private static final long DEFAULT_MEASURE_MS = 3000;
+
+    // Results are folded in here so the JIT cannot drop the measured work
+    private static volatile long sink;
+
+/**
+ * A unit of benchmarked work.
+ */
+    public interface Operation {
+/**
+ * Runs one batch of the measured work.
+ *
+ * @return The number of operations the batch performed.
+ */
+        long run();
+    }
+
+    private Harness() {
+    }
+
+/**
+ * Measures an operation with the default warm-up and measurement time.
+ *
+ * @param name The label printed with the result.
+ * @param op The work to measure.
+ * @return The measured operations per second.
+ */
+    public static double measure(String name, Operation op) {
+        return measure(name, DEFAULT_WARMUP_MS, DEFAULT_MEASURE_MS, op);
+    }
+
+/**
+ * Warms an operation up, then measures its throughput and the bytes it
+ * allocates on the calling thread.
+ *
+ * Pre-condition:
+ * - op must be safe to run repeatedly.
+ *
+ * Post-condition:
+ * - Prints one line with ops/s and bytes allocated per operation.
+ *
+ * @param name The label printed with the result.
+ * @param warmupMs Milliseconds to run before measuring.
+ * @param measureMs Milliseconds to measure.
+ * @param op The work to measure.
+ * @return The measured operations per second.
+ */
+    public static double measure(String name, long warmupMs, long measureMs, Operation op) {
+        runFor(warmupMs, op);
+
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long ops = runFor(measureMs, op);
+        long elapsed = System.nanoTime() - start;
+        long bytes = allocatedBytes() - bytesBefore;
+
+        double opsPerSecond = ops * 1e9 / elapsed;
+        double bytesPerOp = bytes < 0 ? Double.NaN : (double) bytes / ops;
+        System.out.printf("%-45s %,15.0f ops/s %10.2f B/op%n", name, opsPerSecond, bytesPerOp);
+        return opsPerSecond;
+    }
+
+/**
+ * Folds a value into the sink so its computation is not optimised away.
+ *
+ * @param value Any result of measured work.
+ */
+    public static void consume(long value) {
+        sink += value;
+    }
+
+/**
+ * Runs batches until the time budget is used up.
+ *
+ * @param millis The time budget.
+ * @param op The work to run.
+ * @return The total number of operations performed.
+ */
+    private static long runFor(long millis, Operation op) {
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+        long ops = 0;
+        do {
+            ops += op.run();
+        } while (System.nanoTime() < deadline);
+        return ops;
+    }
+
+/**
+ * Reads the bytes allocated so far by the calling thread.
+ *
+ * @return Allocated bytes, or -1 if the JVM does not report them.
+ */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
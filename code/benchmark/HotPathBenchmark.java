@@ -0,0 +1,304 @@
+package benchmark;
+
+import java.awt.GraphicsEnvironment;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import javax.swing.SwingUtilities;
+import controller.BoardController;
+import model.BitBoard;
+import model.Board;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import model.Player;
+import model.interfaces.Leaping;
+import model.pieces.Piece;
+import model.tiles.Tile;
+import view.BoardView;
+
+public class HotPathBenchmark {
+    private static final String[] ANIMALS =
+        {"Rat", "Cat", "Dog", "Wolf", "Leopard", "Tiger", "Lion", "Elephant"};
+
+    // Length of the recorded game replayed by the movePiece benchmark
+    private static final int REPLAY_PLIES = 200;
+
+/**
+ * Measures the rule and rendering hot paths, as a baseline before any of
+ * them is optimised: Game.movePiece, each piece's canMove and canCapture,
+ * Lion and Tiger leap, Player.getActivePieces and getPiece, and
+ * BoardView.updateBoard.
+ *
+ * Usage: HotPathBenchmark [filter]
+ *
+ * Pre-condition:
+ * - None. The BoardView benchmark is skipped on a headless JVM.
+ *
+ * Post-condition:
+ * - Prints one line per benchmark with ops/s and bytes allocated per op.
+ *
+ * @param args Optional text a benchmark name must contain to run.
+ * @throws Exception If the Swing benchmark fails.
+ */
+    public static void main(String[] args) throws Exception {
+        String filter = args.length > 0 ? args[0] : "";
+
+        if ("Game.movePiece".contains(filter)) {
+            benchmarkMovePiece();
+        }
+        for (String animal : ANIMALS) {
+            if ((animal + ".canMove " + animal + ".canCapture").contains(filter)) {
+                benchmarkPieceRules(animal);
+            }
+        }
+        for (String animal : new String[] {"Lion", "Tiger"}) {
+            if ((animal + ".leap").contains(filter)) {
+                benchmarkLeap(animal);
+            }
+        }
+        if ("Player.getActivePieces Player.getAliveMask Player.getPiece".contains(filter)) {
+            benchmarkPlayer();
+        }
+        if ("BoardView.updateBoard".contains(filter)) {
+            benchmarkUpdateBoard();
+        }
+    }
+
+/**
+ * Replays a recorded game with movePiece and switchTurn. Each batch starts
+ * from a new Game, so its construction is reported on its own line too.
+ */
+    private static void benchmarkMovePiece() {
+        int[] replay = recordGame(1L, REPLAY_PLIES);
+
+        Harness.measure("Game construction", () -> {
+            Harness.consume(new Game().positionKey());
+            return 1;
+        });
+
+        Harness.measure("Game.movePiece + switchTurn", () -> {
+            Game game = startingGame();
+            for (int move : replay) {
+                Piece piece = tileAt(game, Move.from(move)).getCurrPiece();
+                game.movePiece(piece, tileAt(game, Move.to(move)));
+                if (!game.getGameState().checkVictory()) {
+                    game.switchTurn();
+                }
+            }
+            Harness.consume(game.positionKey());
+            return replay.length;
+        });
+    }
+
+/**
+ * Measures canMove of one Blue piece against every tile, and canCapture
+ * against every Green piece, in the starting position.
+ *
+ * @param animal The piece class name.
+ */
+    private static void benchmarkPieceRules(String animal) {
+        Game game = startingGame();
+        Piece piece = findPiece(game, "Blue", animal);
+        Tile[] tiles = allTiles(game.getBoard());
+        Piece[] targets = piecesOf(game, "Green").toArray(new Piece[0]);
+
+        Harness.measure(animal + ".canMove", () -> {
+            long legal = 0;
+            for (Tile tile : tiles) {
+                if (piece.canMove(tile)) legal++;
+            }
+            Harness.consume(legal);
+            return tiles.length;
+        });
+
+        Harness.measure(animal + ".canCapture", () -> {
+            long wins = 0;
+            for (Piece target : targets) {
+                if (piece.canCapture(target)) wins++;
+            }
+            Harness.consume(wins);
+            return targets.length;
+        });
+    }
+
+/**
+ * Measures leap from a position reached in a seeded random game where the
+ * piece stands on a lake bank, against every tile in its row and column.
+ *
+ * @param animal "Lion" or "Tiger".
+ */
+    private static void benchmarkLeap(String animal) {
+        int code = animal.equals("Lion") ? BitBoard.LION : BitBoard.TIGER;
+        Game game = null;
+        for (long seed = 1; game == null; seed++) {
+            game = gameWithLeap(seed, code);
+        }
+        BitBoard bits = game.getBoard().getBitBoard();
+        int side = bits.getSideToMove();
+        int from = Long.numberOfTrailingZeros(bits.getPieces(side, code));
+        Leaping piece = (Leaping) tileAt(game, from).getCurrPiece();
+
+        List<Tile> line = new ArrayList<>();
+        for (Tile tile : allTiles(game.getBoard())) {
+            if (tile.getRow() == BitBoard.rowOf(from) ^ tile.getCol() == BitBoard.colOf(from)) {
+                line.add(tile);
+            }
+        }
+        Tile[] targets = line.toArray(new Tile[0]);
+
+        Harness.measure(animal + ".leap", () -> {
+            long leaps = 0;
+            for (Tile target : targets) {
+                if (piece.leap(target) != null) leaps++;
+            }
+            Harness.consume(leaps);
+            return targets.length;
+        });
+    }
+
+/**
+ * Measures the Player piece lookups in the starting position.
+ */
+    private static void benchmarkPlayer() {
+        Player player = startingGame().getCurrentPlayer();
+
+        Harness.measure("Player.getActivePieces", () -> {
+            Harness.consume(player.getActivePieces().size());
+            return 1;
+        });
+
+        Harness.measure("Player.getAliveMask iteration", () -> {
+            long strength = 0;
+            for (int mask = player.getAliveMask(); mask != 0; mask &= mask - 1) {
+                strength += player.getPiece(Integer.numberOfTrailingZeros(mask)).getStrength();
+            }
+            Harness.consume(strength);
+            return 1;
+        });
+
+        Harness.measure("Player.getPiece", () -> {
+            long found = 0;
+            for (String animal : ANIMALS) {
+                if (player.getPiece(animal) != null) found++;
+            }
+            Harness.consume(found);
+            return ANIMALS.length;
+        });
+    }
+
+/**
+ * Measures a full BoardView refresh on the event dispatch thread. The
+ * frame is never shown.
+ *
+ * @throws Exception If the Swing work fails.
+ */
+    private static void benchmarkUpdateBoard() throws Exception {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.out.printf("%-45s %s%n", "BoardView.updateBoard", "skipped (headless)");
+            return;
+        }
+        Game game = startingGame();
+        SwingUtilities.invokeAndWait(() -> {
+            BoardView view = new BoardView((BoardController) null, game.getBoard());
+            Harness.measure("BoardView.updateBoard", () -> {
+                view.updateBoard();
+                return 1;
+            });
+            view.dispose();
+        });
+    }
+
+/**
+ * Plays a seeded random game and records its moves.
+ *
+ * @param seed The random seed.
+ * @param plies The most moves to record.
+ * @return The moves played.
+ */
+    private static int[] recordGame(long seed, int plies) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Game game = startingGame();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int[] played = new int[plies];
+        int count = 0;
+        while (count < plies && !game.getGameState().checkVictory()) {
+            int legal = MoveGenerator.generate(game, moves);
+            if (legal == 0) break;
+            played[count] = moves[random.nextInt(legal)];
+            game.makeMove(played[count++]);
+        }
+        return Arrays.copyOf(played, count);
+    }
+
+/**
+ * Plays a seeded random game until the side to move can leap with the
+ * given animal.
+ *
+ * @param seed The random seed.
+ * @param animal The leaping animal index.
+ * @return The game at that point, or null if the game ended first.
+ */
+    private static Game gameWithLeap(long seed, int animal) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Game game = startingGame();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        while (!game.getGameState().checkVictory()) {
+            int legal = MoveGenerator.generate(game, moves);
+            if (legal == 0) return null;
+            for (int i = 0; i < legal; i++) {
+                if (Move.isLeap(moves[i])
+                        && BitBoard.animalOf(game.getBoard().getBitBoard().pieceAt(Move.from(moves[i]))) == animal) {
+                    return game;
+                }
+            }
+            game.makeMove(moves[random.nextInt(legal)]);
+        }
+        return null;
+    }
+
+/**
+ * Creates a game at the starting setup with Blue to move.
+ *
+ * @return The new game.
+ */
+    private static Game startingGame() {
+        Game game = new Game();
+        game.determineFirstPlayer("Elephant", "Rat");
+        return game;
+    }
+
+    private static Tile tileAt(Game game, int sq) {
+        return game.getBoard().getTile(BitBoard.rowOf(sq), BitBoard.colOf(sq));
+    }
+
+    private static Tile[] allTiles(Board board) {
+        Tile[] tiles = new Tile[Board.getRows() * Board.getCols()];
+        for (int row = 0; row < Board.getRows(); row++) {
+            for (int col = 0; col < Board.getCols(); col++) {
+                tiles[row * Board.getCols() + col] = board.getTile(row, col);
+            }
+        }
+        return tiles;
+    }
+
+    private static List<Piece> piecesOf(Game game, String owner) {
+        List<Piece> pieces = new ArrayList<>();
+        for (Tile tile : allTiles(game.getBoard())) {
+            if (tile.isOccupied() && tile.getCurrPiece().getOwner().equals(owner)) {
+                pieces.add(tile.getCurrPiece());
+            }
+        }
+        return pieces;
+    }
+
+    private static Piece findPiece(Game game, String owner, String animal) {
+        for (Piece piece : piecesOf(game, owner)) {
+            if (piece.getName().equals(animal)) {
+                return piece;
+            }
+        }
+        throw new IllegalStateException("No " + owner + " " + animal);
+    }
+}
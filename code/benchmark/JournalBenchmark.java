@@ -0,0 +1,184 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import model.BitBoard;
+import model.Board;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import model.pieces.Piece;
+import storage.MoveJournal;
+import storage.SyncPolicy;
+
+public class JournalBenchmark {
+    // Length of the recorded log replayed and recovered
+    private static final int LOG_MOVES = 10_000;
+
+    // Moves per batch when every move is forced, to keep a batch short
+    private static final int FORCED_MOVES = 500;
+
+/**
+ * Measures what journaling adds to each Game.movePiece under every sync
+ * policy, and how long recovering a 10,000-move journal takes.
+ *
+ * Usage: JournalBenchmark [directory]
+ *
+ * Pre-condition:
+ * - The directory, default the system temporary directory, must be writable.
+ *
+ * Post-condition:
+ * - Prints moves/s and the overhead per move for each policy, the
+ *   recovery time, and whether the recovered game matches the original.
+ *
+ * @param args Optional directory for the journal file.
+ * @throws IOException If the journal file cannot be used.
+ */
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(args.length > 0 ? args[0] : System.getProperty("java.io.tmpdir"));
+        Path file = Files.createTempFile(dir, "journal-benchmark", ".journal");
+        try {
+            int[] log = recordLongGame(LOG_MOVES);
+
+            double plain = Harness.measure("movePiece, no journal", () -> replay(log, log.length, null, null, 0));
+            measureJournaled("movePiece, journal NEVER/64", log, log.length, file, SyncPolicy.NEVER, 64, plain);
+            measureJournaled("movePiece, journal EVERY_BATCH/64", log, log.length, file, SyncPolicy.EVERY_BATCH, 64, plain);
+            measureJournaled("movePiece, journal EVERY_MOVE", log, FORCED_MOVES, file, SyncPolicy.EVERY_MOVE, 1, plain);
+
+            benchmarkRecovery(log, file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+/**
+ * Measures replaying a log with a journal attached and prints the time
+ * the journal added to each move.
+ */
+    private static void measureJournaled(String name, int[] log, int moves, Path file,
+            SyncPolicy policy, int batch, double plainRate) {
+        double rate = Harness.measure(name, () -> replay(log, moves, file, policy, batch));
+        System.out.printf("  journal overhead %,.0f ns/move%n", 1e9 / rate - 1e9 / plainRate);
+    }
+
+/**
+ * Writes the full log to a journal, then measures recovering it and
+ * checks the recovered game and the handling of a torn last record.
+ */
+    private static void benchmarkRecovery(int[] log, Path file) throws IOException {
+        Game original = startingGame();
+        try (MoveJournal journal = MoveJournal.create(file, original, SyncPolicy.NEVER, MoveJournal.DEFAULT_BATCH)) {
+            playLog(original, log, log.length);
+            Harness.consume(journal.getMoveCount());
+        }
+
+        Harness.measure("recover " + LOG_MOVES + "-move journal", () -> {
+            try (MoveJournal journal = MoveJournal.recover(file, SyncPolicy.NEVER, MoveJournal.DEFAULT_BATCH)) {
+                Harness.consume(journal.getGame().positionKey());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return 1;
+        });
+
+        // A crash in the middle of a write leaves part of a record behind
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {7, 8}));
+        }
+        long start = System.nanoTime();
+        MoveJournal recovered = MoveJournal.recover(file, SyncPolicy.NEVER, MoveJournal.DEFAULT_BATCH);
+        long elapsed = System.nanoTime() - start;
+        recovered.close();
+        boolean matches = recovered.getMoveCount() == log.length
+            && recovered.getGame().positionKey() == original.positionKey()
+            && recovered.getGame().getCurrentPlayer().getName().equals(original.getCurrentPlayer().getName())
+            && Files.size(file) == MoveJournal.HEADER_BYTES + (long) log.length * MoveJournal.RECORD_BYTES;
+        System.out.printf("cold recovery with torn tail: %.2f ms, %,d moves, recovered game %s%n",
+            elapsed / 1e6, recovered.getMoveCount(), matches ? "matches" : "DIFFERS");
+    }
+
+/**
+ * Replays the first moves of a log into a new game, journaled if a file
+ * is given.
+ *
+ * @return The number of moves played.
+ */
+    private static long replay(int[] log, int moves, Path file, SyncPolicy policy, int batch) {
+        Game game = startingGame();
+        if (file == null) {
+            playLog(game, log, moves);
+        } else {
+            try (MoveJournal journal = MoveJournal.create(file, game, policy, batch)) {
+                playLog(game, log, moves);
+                Harness.consume(journal.getMoveCount());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        Harness.consume(game.positionKey());
+        return moves;
+    }
+
+/**
+ * Plays moves through movePiece and switchTurn, as the controllers do.
+ */
+    private static void playLog(Game game, int[] log, int moves) {
+        Board board = game.getBoard();
+        for (int i = 0; i < moves; i++) {
+            int move = log[i];
+            Piece piece = board.getTile(BitBoard.rowOf(Move.from(move)), BitBoard.colOf(Move.from(move))).getCurrPiece();
+            game.movePiece(piece, board.getTile(BitBoard.rowOf(Move.to(move)), BitBoard.colOf(Move.to(move))));
+            if (!game.getGameState().checkVictory()) {
+                game.switchTurn();
+            }
+        }
+    }
+
+/**
+ * Records a seeded random game of quiet moves that never captures or
+ * enters a den, so it can run for as long as needed.
+ *
+ * @param length The number of moves to record.
+ * @return The moves.
+ */
+    private static int[] recordLongGame(int length) {
+        for (long seed = 1; ; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            BitBoard position = startingGame().getBoard().getBitBoard();
+            int[] moves = new int[MoveGenerator.MAX_MOVES];
+            int[] log = new int[length];
+            int played = 0;
+            while (played < length) {
+                int count = MoveGenerator.generate(position, position.getSideToMove(), moves, 0);
+                int quiet = 0;
+                for (int i = 0; i < count; i++) {
+                    long target = BitBoard.bit(Move.to(moves[i]));
+                    if (!Move.isCapture(moves[i]) && ((BitBoard.BLUE_DEN_MASK | BitBoard.GREEN_DEN_MASK) & target) == 0) {
+                        moves[quiet++] = moves[i];
+                    }
+                }
+                if (quiet == 0) break;
+                log[played] = moves[random.nextInt(quiet)];
+                position.makeMove(log[played++]);
+            }
+            if (played == length) return log;
+        }
+    }
+
+/**
+ * Creates a game at the starting setup with Blue to move.
+ *
+ * @return The new game.
+ */
+    private static Game startingGame() {
+        Game game = new Game();
+        game.determineFirstPlayer("Elephant", "Rat");
+        return game;
+    }
+}
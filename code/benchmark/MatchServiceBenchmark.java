@@ -0,0 +1,140 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.BitBoard;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import service.MatchService;
+import service.MoveReply;
+
+public class MatchServiceBenchmark {
+    private static final long IDLE_TIMEOUT_MILLIS = 60_000;
+
+/**
+ * Drives thousands of concurrent sessions through MatchService, one client
+ * virtual thread per session. Each client mirrors its game in a BitBoard,
+ * picks random legal moves, and checks every reply's position key against
+ * its mirror.
+ *
+ * Usage: MatchServiceBenchmark [sessions] [movesPerSession]
+ *
+ * Pre-condition:
+ * - Requires a JDK with virtual threads (21 or later).
+ *
+ * Post-condition:
+ * - Prints moves/s and latency percentiles, and exits with status 1 if any
+ *   reply disagreed with its client's mirror.
+ *
+ * @param args Optional number of sessions and moves per session.
+ * @throws InterruptedException If interrupted while waiting for clients.
+ */
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int movesPerSession = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        long[][] latencies = new long[sessions][];
+        AtomicInteger mismatches = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(sessions);
+
+        try (MatchService service = new MatchService(IDLE_TIMEOUT_MILLIS)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < sessions; i++) {
+                final int client = i;
+                Thread.startVirtualThread(() -> {
+                    try {
+                        latencies[client] = runClient(service, client, movesPerSession, mismatches);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+            long elapsed = System.nanoTime() - start;
+
+            int total = 0;
+            for (long[] clientLatencies : latencies) {
+                total += clientLatencies.length;
+            }
+            long[] all = new long[total];
+            int index = 0;
+            for (long[] clientLatencies : latencies) {
+                System.arraycopy(clientLatencies, 0, all, index, clientLatencies.length);
+                index += clientLatencies.length;
+            }
+            Arrays.sort(all);
+
+            System.out.printf("%,d sessions, %,d moves: %,.0f moves/s%n",
+                sessions, total, total * 1e9 / elapsed);
+            System.out.printf("latency p50 %,.1f us, p99 %,.1f us, max %,.1f us%n",
+                percentile(all, 0.50) / 1e3, percentile(all, 0.99) / 1e3,
+                total == 0 ? 0.0 : all[total - 1] / 1e3);
+            System.out.printf("%d mismatches, %d sessions left open%n",
+                mismatches.get(), service.getSessionCount());
+        }
+
+        if (mismatches.get() > 0) {
+            System.exit(1);
+        }
+    }
+
+/**
+ * Plays one session to the end or the move limit.
+ *
+ * @param service The service under test.
+ * @param seed The client's random seed.
+ * @param maxMoves The most moves to submit.
+ * @param mismatches Counter of replies that disagreed with the mirror.
+ * @return The latency of each move in nanoseconds.
+ */
+    private static long[] runClient(MatchService service, long seed, int maxMoves, AtomicInteger mismatches) {
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean blueFirst = random.nextBoolean();
+        long id = service.createSession(blueFirst ? "Elephant" : "Rat", "Cat");
+
+        BitBoard mirror = new BitBoard();
+        mirror.copyFrom(new Game().getBoard().getBitBoard());
+        mirror.setSideToMove(blueFirst ? BitBoard.BLUE : BitBoard.GREEN);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        long[] latencies = new long[maxMoves];
+        int played = 0;
+
+        while (played < maxMoves && !mirror.isGameOver()) {
+            int count = MoveGenerator.generate(mirror, mirror.getSideToMove(), moves, 0);
+            if (count == 0) break;
+            int move = moves[random.nextInt(count)];
+            int from = Move.from(move);
+            int to = Move.to(move);
+
+            long sent = System.nanoTime();
+            MoveReply reply = service.move(id, BitBoard.rowOf(from), BitBoard.colOf(from),
+                BitBoard.rowOf(to), BitBoard.colOf(to));
+            latencies[played++] = System.nanoTime() - sent;
+
+            mirror.makeMove(move);
+            if (!reply.getResult().isLegal() || reply.getPositionKey() != mirror.getKey()) {
+                mismatches.incrementAndGet();
+                break;
+            }
+        }
+
+        service.closeSession(id);
+        return Arrays.copyOf(latencies, played);
+    }
+
+/**
+ * Reads a percentile from sorted samples.
+ *
+ * @param sorted The samples in ascending order.
+ * @param fraction The percentile as a fraction, e.g. 0.99.
+ * @return The sample at that percentile, or 0 if there are none.
+ */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)];
+    }
+}
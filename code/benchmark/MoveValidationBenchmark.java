@@ -0,0 +1,68 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import model.Board;
+import model.Game;
+import model.MoveResult;
+import model.pieces.Piece;
+import model.tiles.Tile;
+
+public class MoveValidationBenchmark {
+
+/**
+ * Compares Game.validateMove with the exception-throwing movePiece path
+ * on every rejected (piece, tile) pair of the starting position.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Prints ops/s and bytes per operation for both paths.
+ *
+ * @param args Command-line arguments (not used).
+ */
+    public static void main(String[] args) {
+        Game game = new Game();
+        game.determineFirstPlayer("Elephant", "Rat");
+
+        List<Piece> pieces = new ArrayList<>();
+        List<Tile> tiles = new ArrayList<>();
+        for (Piece piece : game.getCurrentPlayer().getActivePieces()) {
+            for (int row = 0; row < Board.getRows(); row++) {
+                for (int col = 0; col < Board.getCols(); col++) {
+                    Tile tile = game.getBoard().getTile(row, col);
+                    if (game.validateMove(piece, tile) != MoveResult.OK) {
+                        pieces.add(piece);
+                        tiles.add(tile);
+                    }
+                }
+            }
+        }
+        Piece[] piecePairs = pieces.toArray(new Piece[0]);
+        Tile[] tilePairs = tiles.toArray(new Tile[0]);
+        System.out.println("Rejected moves per batch: " + piecePairs.length);
+
+        Harness.measure("validateMove (result codes)", () -> {
+            long rejected = 0;
+            for (int i = 0; i < piecePairs.length; i++) {
+                rejected += game.validateMove(piecePairs[i], tilePairs[i]).ordinal();
+            }
+            Harness.consume(rejected);
+            return piecePairs.length;
+        });
+
+        Harness.measure("movePiece (exceptions)", () -> {
+            long rejected = 0;
+            for (int i = 0; i < piecePairs.length; i++) {
+                try {
+                    game.movePiece(piecePairs[i], tilePairs[i]);
+                } catch (RuntimeException e) {
+                    rejected += e.getMessage().length();
+                }
+            }
+            Harness.consume(rejected);
+            return piecePairs.length;
+        });
+    }
+}
@@ -0,0 +1,197 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import engine.AlphaBetaEngine;
+import engine.BookEngine;
+import engine.Engine;
+import model.BitBoard;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import storage.GameDatabase;
+import storage.OpeningBook;
+
+public class OpeningBookBenchmark {
+    // Games still running after this many plies are stored as draws
+    private static final int MAX_PLIES = 400;
+
+    // Opening plies the book covers
+    private static final int BOOK_PLIES = 8;
+
+    // Search time of the engine the book is compared with
+    private static final long SEARCH_MILLIS = 100;
+
+/**
+ * Records random games, builds an opening book from them, checks every
+ * book move is legal, then measures probes and the time a book saves an
+ * alpha-beta player over the first moves.
+ *
+ * Usage: OpeningBookBenchmark [games] [directory]
+ *
+ * Pre-condition:
+ * - The directory, default the system temporary directory, must be writable.
+ *
+ * Post-condition:
+ * - Prints build time, book size, probe rates and search time saved; the
+ *   files are deleted.
+ *
+ * @param args Optional game count and directory.
+ * @throws IOException If a file cannot be used.
+ */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Path dir = Paths.get(args.length > 1 ? args[1] : System.getProperty("java.io.tmpdir"));
+        Path databaseFile = Files.createTempFile(dir, "games", ".db");
+        Path bookFile = Files.createTempFile(dir, "games", ".book");
+
+        try (GameDatabase database = GameDatabase.create(databaseFile, games, (long) games * MAX_PLIES)) {
+            fill(database, games);
+            long start = System.nanoTime();
+            int entries = OpeningBook.build(database, bookFile, BOOK_PLIES, 2);
+            System.out.printf("%,d games: %,d book moves, %,d bytes, built in %.2f s%n",
+                games, entries, Files.size(bookFile), (System.nanoTime() - start) / 1e9);
+
+            long[] keys = new long[4096];
+            BitBoard[] positions = samplePositions(database, keys.length);
+            try (OpeningBook book = OpeningBook.open(bookFile)) {
+                verify(book, positions);
+                benchmarkProbe(book, positions);
+                benchmarkEngine(book);
+            }
+        } finally {
+            Files.deleteIfExists(databaseFile);
+            Files.deleteIfExists(bookFile);
+        }
+    }
+
+/**
+ * Appends uniformly random games.
+ */
+    private static void fill(GameDatabase database, int games) {
+        SplittableRandom random = new SplittableRandom(1);
+        BitBoard position = new BitBoard();
+        BitBoard[] starts = {startingSetup(BitBoard.BLUE), startingSetup(BitBoard.GREEN)};
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        byte[] record = new byte[MAX_PLIES];
+        for (int i = 0; i < games; i++) {
+            int firstSide = random.nextInt(2);
+            position.copyFrom(starts[firstSide]);
+            int winner = BitBoard.EMPTY;
+            int ply = 0;
+            while (ply < MAX_PLIES && !position.isGameOver()) {
+                int count = MoveGenerator.generate(position, position.getSideToMove(), moves, 0);
+                if (count == 0) {
+                    winner = position.getSideToMove() ^ 1;
+                    break;
+                }
+                int move = moves[random.nextInt(count)];
+                record[ply++] = (byte) Move.pack(position, move);
+                position.makeMove(move);
+            }
+            if (position.isGameOver()) {
+                winner = position.getWinner();
+            }
+            database.append(firstSide, winner, record, ply);
+        }
+    }
+
+/**
+ * Takes positions from the opening plies of randomly chosen games, some
+ * of them past the book's depth.
+ */
+    private static BitBoard[] samplePositions(GameDatabase database, int count) {
+        SplittableRandom random = new SplittableRandom(2);
+        BitBoard[] positions = new BitBoard[count];
+        for (int i = 0; i < count; i++) {
+            int game = random.nextInt(database.getGameCount());
+            BitBoard position = new BitBoard();
+            database.startPosition(game, position);
+            int plies = Math.min(random.nextInt(BOOK_PLIES + 4), database.getPlies(game));
+            for (int ply = 0; ply < plies; ply++) {
+                position.makeMove(Move.unpack(position, database.getPackedMove(game, ply)));
+            }
+            positions[i] = position;
+        }
+        return positions;
+    }
+
+/**
+ * Checks every book move of the sampled positions is legal there.
+ */
+    private static void verify(OpeningBook book, BitBoard[] positions) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int[] games = new int[MoveGenerator.MAX_MOVES];
+        int[] points = new int[MoveGenerator.MAX_MOVES];
+        int[] legal = new int[MoveGenerator.MAX_MOVES];
+        int hits = 0;
+        int illegal = 0;
+        for (BitBoard position : positions) {
+            int found = book.probe(position, moves, games, points);
+            int legalCount = MoveGenerator.generate(position, position.getSideToMove(), legal, 0);
+            if (found > 0) hits++;
+            for (int i = 0; i < found; i++) {
+                boolean ok = false;
+                for (int j = 0; j < legalCount && !ok; j++) {
+                    ok = legal[j] == moves[i];
+                }
+                if (!ok) illegal++;
+            }
+        }
+        System.out.printf("%,d of %,d sampled positions in the book, %d illegal book moves%n",
+            hits, positions.length, illegal);
+    }
+
+    private static void benchmarkProbe(OpeningBook book, BitBoard[] positions) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int[] games = new int[MoveGenerator.MAX_MOVES];
+        int[] points = new int[MoveGenerator.MAX_MOVES];
+        Harness.measure("OpeningBook.probe", () -> {
+            long total = 0;
+            for (BitBoard position : positions) {
+                total += book.probe(position, moves, games, points);
+            }
+            Harness.consume(total);
+            return positions.length;
+        });
+        Harness.measure("OpeningBook.bestMove", () -> {
+            long total = 0;
+            for (BitBoard position : positions) {
+                total += book.bestMove(position, BookEngine.DEFAULT_MIN_GAMES);
+            }
+            Harness.consume(total);
+            return positions.length;
+        });
+    }
+
+/**
+ * Plays the opening against itself with and without the book and
+ * reports the time spent choosing moves.
+ */
+    private static void benchmarkEngine(OpeningBook book) {
+        Engine searching = new AlphaBetaEngine(SEARCH_MILLIS, 16);
+        Engine booked = new BookEngine(new AlphaBetaEngine(SEARCH_MILLIS, 16), book, BookEngine.DEFAULT_MIN_GAMES);
+        for (Engine engine : new Engine[] {searching, booked}) {
+            BitBoard position = startingSetup(BitBoard.BLUE);
+            int bookMoves = 0;
+            long start = System.nanoTime();
+            for (int ply = 0; ply < BOOK_PLIES && !position.isGameOver(); ply++) {
+                position.makeMove(engine.chooseMove(position));
+                if (engine.getLastSearchInfo().equals("book move")) bookMoves++;
+            }
+            System.out.printf("%-45s %,10.1f ms for the first %d plies, %d from the book%n",
+                engine == booked ? "alpha-beta with book" : "alpha-beta",
+                (System.nanoTime() - start) / 1e6, BOOK_PLIES, bookMoves);
+        }
+    }
+
+    private static BitBoard startingSetup(int firstSide) {
+        Game game = new Game();
+        game.determineFirstPlayer(firstSide == BitBoard.BLUE ? "Elephant" : "Rat",
+            firstSide == BitBoard.BLUE ? "Rat" : "Elephant");
+        return game.getBoard().getBitBoard();
+    }
+}
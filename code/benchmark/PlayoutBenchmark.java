@@ -0,0 +1,89 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import engine.PlayoutEngine;
+import model.BitBoard;
+import model.Game;
+
+public class PlayoutBenchmark {
+    private static final long PARALLEL_MEASURE_MS = 3000;
+
+/**
+ * Measures full random playouts from the starting setup, uniform and
+ * weighted, on one core and then on several threads at once.
+ *
+ * Usage: PlayoutBenchmark [threads]
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Prints playouts/s, bytes per playout and average playout length.
+ *
+ * @param args Optional number of threads for the parallel run.
+ * @throws InterruptedException If interrupted while waiting for threads.
+ */
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0])
+            : Runtime.getRuntime().availableProcessors();
+
+        Game game = new Game();
+        game.determineFirstPlayer("Elephant", "Rat");
+        BitBoard start = game.getBoard().getBitBoard();
+
+        for (boolean weighted : new boolean[] {false, true}) {
+            String kind = weighted ? "weighted" : "uniform";
+            PlayoutEngine engine = new PlayoutEngine(new SplittableRandom(1));
+            long[] totals = new long[2];
+
+            double rate = Harness.measure(kind + " playout, 1 thread", () -> {
+                engine.playout(start, weighted);
+                totals[0]++;
+                totals[1] += engine.getLastLength();
+                return 1;
+            });
+            double averageLength = (double) totals[1] / totals[0];
+            System.out.printf("  average length %.1f plies, %,.0f plies/s%n", averageLength, rate * averageLength);
+
+            System.out.printf("%-45s %,15.0f playouts/s%n", kind + " playout, " + threads + " threads",
+                parallelRate(start, weighted, threads));
+        }
+    }
+
+/**
+ * Runs playouts on several threads for a fixed time.
+ *
+ * @param start The starting position, shared read-only.
+ * @param weighted true for weighted-random moves.
+ * @param threads The number of threads.
+ * @return The total playouts per second.
+ * @throws InterruptedException If interrupted while waiting for threads.
+ */
+    private static double parallelRate(BitBoard start, boolean weighted, int threads)
+            throws InterruptedException {
+        AtomicLong total = new AtomicLong();
+        long deadline = System.nanoTime() + PARALLEL_MEASURE_MS * 1_000_000L;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final long seed = t;
+            workers[t] = new Thread(() -> {
+                PlayoutEngine engine = new PlayoutEngine(new SplittableRandom(seed));
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    engine.playout(start, weighted);
+                    count++;
+                }
+                total.addAndGet(count);
+            });
+        }
+        long begin = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return total.get() * 1e9 / (System.nanoTime() - begin);
+    }
+}
@@ -0,0 +1,134 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+import model.BitBoard;
+import model.Game;
+import model.MoveGenerator;
+import model.PositionCodec;
+
+public class PositionCodecBenchmark {
+    // Positions sampled from seeded random games
+    private static final int POSITIONS = 4096;
+
+/**
+ * Checks that the binary and text position formats round-trip, then
+ * measures encode, decode, toText, fromText and Game.setPosition.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Prints the round-trip result and one line per format operation.
+ *
+ * @param args Command-line arguments (not used in this program).
+ */
+    public static void main(String[] args) {
+        BitBoard[] positions = samplePositions(POSITIONS);
+        byte[] encoded = new byte[POSITIONS * PositionCodec.BYTES];
+        String[] texts = new String[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            PositionCodec.encode(positions[i], encoded, i * PositionCodec.BYTES);
+            texts[i] = PositionCodec.toText(positions[i]);
+        }
+        System.out.println("start: " + texts[0]);
+        checkRoundTrips(positions, encoded, texts);
+
+        BitBoard scratch = new BitBoard();
+        byte[] out = new byte[PositionCodec.BYTES];
+        Game game = new Game();
+
+        Harness.measure("PositionCodec.encode", () -> {
+            for (BitBoard position : positions) {
+                PositionCodec.encode(position, out, 0);
+            }
+            Harness.consume(out[0]);
+            return POSITIONS;
+        });
+        Harness.measure("PositionCodec.decode", () -> {
+            for (int i = 0; i < POSITIONS; i++) {
+                PositionCodec.decode(encoded, i * PositionCodec.BYTES, scratch);
+            }
+            Harness.consume(scratch.getKey());
+            return POSITIONS;
+        });
+        Harness.measure("PositionCodec.toText", () -> {
+            long length = 0;
+            for (BitBoard position : positions) {
+                length += PositionCodec.toText(position).length();
+            }
+            Harness.consume(length);
+            return POSITIONS;
+        });
+        Harness.measure("PositionCodec.fromText", () -> {
+            for (String text : texts) {
+                PositionCodec.fromText(text, scratch);
+            }
+            Harness.consume(scratch.getKey());
+            return POSITIONS;
+        });
+        Harness.measure("Game.setPosition", () -> {
+            for (BitBoard position : positions) {
+                game.setPosition(position);
+            }
+            Harness.consume(game.positionKey());
+            return POSITIONS;
+        });
+    }
+
+/**
+ * Decodes every sample both ways and compares it with the original.
+ */
+    private static void checkRoundTrips(BitBoard[] positions, byte[] encoded, String[] texts) {
+        BitBoard binary = new BitBoard();
+        BitBoard text = new BitBoard();
+        Game game = new Game();
+        int mismatches = 0;
+        for (int i = 0; i < positions.length; i++) {
+            PositionCodec.decode(encoded, i * PositionCodec.BYTES, binary);
+            PositionCodec.fromText(texts[i], text);
+            game.setPosition(binary);
+            BitBoard rebuilt = new BitBoard();
+            rebuilt.load(game.getBoard());
+            rebuilt.setSideToMove(binary.getSideToMove());
+            if (!same(positions[i], binary) || !same(positions[i], text)
+                    || rebuilt.getKey() != positions[i].getKey()
+                    || game.getGameState().checkVictory() != positions[i].isGameOver()) {
+                mismatches++;
+            }
+        }
+        System.out.printf("%,d positions round-tripped, %d mismatches%n", positions.length, mismatches);
+    }
+
+    private static boolean same(BitBoard a, BitBoard b) {
+        return a.getKey() == b.getKey() && a.getWinner() == b.getWinner()
+            && a.getSideToMove() == b.getSideToMove() && a.getAllOccupancy() == b.getAllOccupancy();
+    }
+
+/**
+ * Samples positions from seeded random games, starting with the setup
+ * and including finished games.
+ *
+ * @param count The number of positions.
+ * @return The positions.
+ */
+    private static BitBoard[] samplePositions(int count) {
+        SplittableRandom random = new SplittableRandom(1);
+        Game start = new Game();
+        start.determineFirstPlayer("Elephant", "Rat");
+        BitBoard position = new BitBoard();
+        position.copyFrom(start.getBoard().getBitBoard());
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        BitBoard[] samples = new BitBoard[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = new BitBoard();
+            samples[i].copyFrom(position);
+            int legal = position.isGameOver() ? 0 : MoveGenerator.generate(position, position.getSideToMove(), moves, 0);
+            if (legal == 0) {
+                position.copyFrom(start.getBoard().getBitBoard());
+            } else {
+                position.makeMove(moves[random.nextInt(legal)]);
+            }
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,152 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import model.BitBoard;
+import model.Board;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import model.pieces.Piece;
+import storage.GameReplay;
+import storage.MoveJournal;
+import storage.SyncPolicy;
+
+public class ReplayBenchmark {
+    // Length of the marathon game written to the journal
+    private static final int GAME_PLIES = 5_000;
+
+/**
+ * Writes a 5,000-move game to a move journal, then measures opening it
+ * for replay, stepping through it and seeking to random moves, and
+ * checks every seek against a straight replay.
+ *
+ * Usage: ReplayBenchmark [directory]
+ *
+ * Pre-condition:
+ * - The directory, default the system temporary directory, must be writable.
+ *
+ * Post-condition:
+ * - Prints the open time, step and seek rates and the check result.
+ *
+ * @param args Optional directory for the journal file.
+ * @throws IOException If the journal file cannot be used.
+ */
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(args.length > 0 ? args[0] : System.getProperty("java.io.tmpdir"));
+        Path file = Files.createTempFile(dir, "replay-benchmark", ".journal");
+        try {
+            long[] keys = writeMarathon(file, GAME_PLIES);
+
+            long start = System.nanoTime();
+            GameReplay replay = new GameReplay(MoveJournal.openSource(file), GameReplay.DEFAULT_INTERVAL);
+            System.out.printf("cold open of a %,d-move journal: %.3f ms%n",
+                replay.getPlies(), (System.nanoTime() - start) / 1e6);
+
+            start = System.nanoTime();
+            replay.seek(replay.getPlies());
+            System.out.printf("first jump to the end: %.3f ms%n", (System.nanoTime() - start) / 1e6);
+
+            checkSeeks(replay, keys);
+
+            Harness.measure("open journal for replay", () -> {
+                try {
+                    Harness.consume(new GameReplay(MoveJournal.openSource(file), GameReplay.DEFAULT_INTERVAL).getPlies());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                return 1;
+            });
+
+            SplittableRandom random = new SplittableRandom(1);
+            Harness.measure("GameReplay.seek (random ply)", () -> {
+                replay.seek(random.nextInt(replay.getPlies() + 1));
+                Harness.consume(replay.getGame().positionKey());
+                return 1;
+            });
+
+            replay.seek(0);
+            Harness.measure("GameReplay.stepForward", () -> {
+                if (!replay.stepForward()) replay.seek(0);
+                return 1;
+            });
+
+            replay.seek(replay.getPlies());
+            Harness.measure("GameReplay.stepBack", () -> {
+                if (!replay.stepBack()) replay.seek(replay.getPlies());
+                return 1;
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+/**
+ * Seeks to every ply in a shuffled order and compares each position
+ * with the one reached by playing the game straight through.
+ */
+    private static void checkSeeks(GameReplay replay, long[] keys) {
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        int mismatches = 0;
+        for (int target : order) {
+            replay.seek(target);
+            if (replay.getGame().positionKey() != keys[target]) mismatches++;
+        }
+        System.out.printf("%,d seeks checked, %d mismatches%n", order.length, mismatches);
+    }
+
+/**
+ * Plays a seeded game of quiet moves through movePiece with a journal
+ * attached, so it can run for as long as needed.
+ *
+ * @param file The journal file.
+ * @param length The number of moves.
+ * @return The position key after each ply, from 0 to length.
+ * @throws IOException If the journal cannot be written.
+ */
+    private static long[] writeMarathon(Path file, int length) throws IOException {
+        Game game = new Game();
+        game.determineFirstPlayer("Elephant", "Rat");
+        Board board = game.getBoard();
+        BitBoard position = board.getBitBoard();
+        SplittableRandom random = new SplittableRandom(1);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        long[] keys = new long[length + 1];
+        keys[0] = game.positionKey();
+
+        try (MoveJournal journal = MoveJournal.create(file, game, SyncPolicy.NEVER, MoveJournal.DEFAULT_BATCH)) {
+            for (int ply = 0; ply < length; ply++) {
+                int count = MoveGenerator.generate(position, position.getSideToMove(), moves, 0);
+                int quiet = 0;
+                for (int i = 0; i < count; i++) {
+                    long target = BitBoard.bit(Move.to(moves[i]));
+                    if (!Move.isCapture(moves[i]) && ((BitBoard.BLUE_DEN_MASK | BitBoard.GREEN_DEN_MASK) & target) == 0) {
+                        moves[quiet++] = moves[i];
+                    }
+                }
+                int move = moves[random.nextInt(quiet)];
+                Piece piece = board.getTile(BitBoard.rowOf(Move.from(move)), BitBoard.colOf(Move.from(move))).getCurrPiece();
+                game.movePiece(piece, board.getTile(BitBoard.rowOf(Move.to(move)), BitBoard.colOf(Move.to(move))));
+                game.switchTurn();
+                keys[ply + 1] = game.positionKey();
+            }
+            if (journal.getMoveCount() != length) {
+                throw new IllegalStateException("Journal recorded " + journal.getMoveCount() + " of " + length + " moves");
+            }
+        }
+        return keys;
+    }
+}
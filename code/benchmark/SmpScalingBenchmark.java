@@ -0,0 +1,113 @@
+package benchmark;
+
+import java.util.Random;
+import engine.Engine;
+import engine.LazySmpEngine;
+import model.BitBoard;
+import model.Game;
+import model.MoveGenerator;
+
+public class SmpScalingBenchmark {
+    private static final int OPENING_MOVES = 4;
+    private static final int MAX_GAME_PLIES = 300;
+
+/**
+ * Measures Lazy SMP nodes per second for 1, 2, 4, ... threads up to the
+ * number of processors, then plays the widest engine against a
+ * single-threaded one at the same time per move.
+ *
+ * Usage: SmpScalingBenchmark [millisPerMove] [matchGames]
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Prints nodes/s, speed-up and depth per thread count, then the match score.
+ *
+ * @param args Optional time per move and number of match games.
+ */
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        Game game = new Game();
+        game.determineFirstPlayer("Elephant", "Rat");
+        BitBoard start = game.getBoard().getBitBoard();
+
+        System.out.printf("%-8s %15s %9s %6s%n", "threads", "nodes/s", "speed-up", "depth");
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+            LazySmpEngine engine = new LazySmpEngine(threads, millis, 64);
+            engine.chooseMove(start);
+            double nps = engine.getLastNodes() * 1000.0 / millis;
+            if (threads == 1) baseline = nps;
+            System.out.printf("%-8d %,15.0f %8.2fx %6d%n", threads, nps, nps / baseline, engine.getLastDepth());
+            engine.shutdown();
+        }
+
+        if (maxThreads == 1) {
+            System.out.println("Only one processor available; skipping the strength match.");
+            return;
+        }
+
+        int wide = 0;
+        int narrow = 0;
+        Random random = new Random(1);
+        for (int i = 0; i < games; i++) {
+            LazySmpEngine many = new LazySmpEngine(maxThreads, millis, 64);
+            LazySmpEngine one = new LazySmpEngine(1, millis, 64);
+            // Alternate colours so neither engine always plays Blue
+            int winner = playGame(i % 2 == 0 ? many : one, i % 2 == 0 ? one : many, random);
+            many.shutdown();
+            one.shutdown();
+            if (winner == BitBoard.EMPTY) continue;
+            boolean manyWon = (winner == BitBoard.BLUE) == (i % 2 == 0);
+            if (manyWon) wide++; else narrow++;
+        }
+        System.out.printf("%d threads vs 1 thread at %d ms/move: %d - %d (%d drawn by move limit)%n",
+            maxThreads, millis, wide, narrow, games - wide - narrow);
+    }
+
+/**
+ * Gets the next thread count to measure: doubling, but always ending on
+ * the processor count.
+ *
+ * @param threads The count just measured.
+ * @param maxThreads The number of processors.
+ * @return The next count, or a value above maxThreads when done.
+ */
+    private static int nextThreadCount(int threads, int maxThreads) {
+        if (threads == maxThreads) return maxThreads + 1;
+        return Math.min(threads * 2, maxThreads);
+    }
+
+/**
+ * Plays one game between two engines after a few random opening moves.
+ *
+ * @param blue The engine playing Blue.
+ * @param green The engine playing Green.
+ * @param random The source of opening moves.
+ * @return The winning side, or EMPTY if the move limit was reached.
+ */
+    private static int playGame(Engine blue, Engine green, Random random) {
+        BitBoard position = new BitBoard();
+        Game game = new Game();
+        game.determineFirstPlayer("Elephant", "Rat");
+        position.copyFrom(game.getBoard().getBitBoard());
+
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int ply = 0; ply < MAX_GAME_PLIES && !position.isGameOver(); ply++) {
+            int count = MoveGenerator.generate(position, position.getSideToMove(), moves, 0);
+            if (count == 0) return position.getSideToMove() ^ 1;
+            int move;
+            if (ply < OPENING_MOVES) {
+                move = moves[random.nextInt(count)];
+            } else {
+                move = (position.getSideToMove() == BitBoard.BLUE ? blue : green).chooseMove(position);
+            }
+            position.makeMove(move);
+        }
+        return position.getWinner();
+    }
+}
@@ -1,12 +1,19 @@
 package controller;
 
+import engine.Engine;
+import model.BitBoard;
 import model.Game;
 import model.Board;
+import model.Move;
+import model.MoveGenerator;
 import model.Player;
+import model.MoveResult;
 import model.pieces.Piece;
 import model.tiles.Tile;
 import view.BoardView;
 import java.awt.Color;
+import java.util.concurrent.ExecutionException;
+import javax.swing.SwingWorker;
 
 public class BoardController {
     private Game game;
@@ -16,6 +23,9 @@ public class BoardController {
     
     private Piece selectedPiece;
     private boolean isMoving;
+    private Engine[] engines;
+    private boolean isThinking;
+    private boolean isDisposed;
 
 /**
  * Constructs a BoardController to manage game board interactions.
@@ -31,13 +41,35 @@ public class BoardController {
  * @param game The Game model instance.
  */
     public BoardController(GameController gameController, Game game) {
+        this(gameController, game, null, null);
+    }
+
+/**
+ * Constructs a BoardController where either player may be a computer.
+ *
+ * Pre-condition:
+ * - game and gameController must be valid and initialized.
+ *
+ * Post-condition:
+ * - Initializes board, view, and sets default selection state.
+ * - Starts the computer's search if it moves first.
+ *
+ * @param gameController The GameController managing the game flow.
+ * @param game The Game model instance.
+ * @param blueEngine The engine playing Blue, or null for a human.
+ * @param greenEngine The engine playing Green, or null for a human.
+ */
+    public BoardController(GameController gameController, Game game, Engine blueEngine, Engine greenEngine) {
         this.gameController = gameController;
         this.game = game;
         this.board = game.getBoard();
         this.view = new BoardView(this, board);
+        this.engines = new Engine[] {blueEngine, greenEngine};
         
         this.selectedPiece = null;
         this.isMoving = false;
+        this.isThinking = false;
+        this.isDisposed = false;
         
         updateView();
     }
@@ -56,6 +88,10 @@ public class BoardController {
  * @param col The column of the clicked tile.
  */
     public void onTileClicked(int row, int col) {
+        if (isThinking || currentEngine() != null) {
+            view.updateEvent("Computer is thinking...");
+            return;
+        }
         Tile clickedTile = board.getTile(row, col);
         
         if (isMoving) {
@@ -89,7 +125,7 @@ public class BoardController {
         selectedPiece = piece;
         isMoving = true;
         view.highlightTile(tile.getRow(), tile.getCol(), new Color(50, 150, 50));
-        view.updateEvent("Select destination for " + piece.getClass().getSimpleName());
+        view.updateEvent("Select destination for " + piece.getName());
     }
 
 /**
@@ -107,21 +143,113 @@ public class BoardController {
  * @param destination The target tile for movement.
  */
     private void handleMove(Tile destination) {
-        try {
-            if (game.movePiece(selectedPiece, destination)) {
-                view.clearHighlights();
-                selectedPiece = null;
-                isMoving = false;
-                
-                if (game.getGameState().checkVictory()) {
-                    handleVictory();
-                } else {
-                    game.switchTurn();
-                    updateView();
+        MoveResult result = game.tryMove(selectedPiece, destination);
+        if (!result.isLegal()) {
+            view.updateEvent(result.getMessage(selectedPiece.getName()));
+            return;
+        }
+
+        view.clearHighlights();
+        selectedPiece = null;
+        isMoving = false;
+        finishTurn();
+    }
+
+/**
+ * Ends a turn after a successful move.
+ *
+ * Pre-condition:
+ * - A move has just been made with game.tryMove.
+ *
+ * Post-condition:
+ * - GameController has checked that the move was journaled.
+ * - Shows the victory message, or switches turn and refreshes the view.
+ */
+    private void finishTurn() {
+        gameController.onMovePlayed();
+        if (game.getGameState().checkVictory()) {
+            view.updateBoard();
+            handleVictory();
+        } else {
+            game.switchTurn();
+            updateView();
+        }
+    }
+
+/**
+ * Gets the engine playing for the current player.
+ *
+ * @return The engine, or null if the current player is human.
+ */
+    private Engine currentEngine() {
+        Player current = game.getCurrentPlayer();
+        if (current == null || game.getGameState().checkVictory()) return null;
+        return engines[BitBoard.sideOf(current.getName())];
+    }
+
+/**
+ * Starts a background search if the current player is a computer.
+ *
+ * Pre-condition:
+ * - The view must be initialized.
+ *
+ * Post-condition:
+ * - If a computer is to move, its engine searches on a copy of the
+ *   position off the Swing thread and the move is played when done.
+ */
+    private void startComputerTurn() {
+        Engine engine = currentEngine();
+        if (engine == null || isThinking) return;
+
+        BitBoard position = new BitBoard();
+        position.copyFrom(board.getBitBoard());
+
+        isThinking = true;
+        view.updateEvent("Computer is thinking...");
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return engine.chooseMove(position);
+            }
+
+            @Override
+            protected void done() {
+                isThinking = false;
+                if (isDisposed) return;
+                try {
+                    playComputerMove(get(), engine);
+                } catch (InterruptedException | ExecutionException e) {
+                    view.updateEvent("Computer failed to move");
                 }
             }
-        } catch (RuntimeException e) {
-            view.updateEvent(e.getMessage());
+        }.execute();
+    }
+
+/**
+ * Plays a move chosen by an engine.
+ *
+ * Pre-condition:
+ * - move must be legal for the current player.
+ *
+ * Post-condition:
+ * - The move is made through game.tryMove and the turn is finished.
+ *
+ * @param move The encoded move.
+ * @param engine The engine that chose it.
+ */
+    private void playComputerMove(int move, Engine engine) {
+        Tile from = board.getTile(BitBoard.rowOf(Move.from(move)), BitBoard.colOf(Move.from(move)));
+        Tile to = board.getTile(BitBoard.rowOf(Move.to(move)), BitBoard.colOf(Move.to(move)));
+        Piece piece = from.getCurrPiece();
+
+        if (!game.tryMove(piece, to).isLegal()) {
+            view.updateEvent("Computer failed to move");
+            return;
+        }
+        finishTurn();
+        if (!game.getGameState().checkVictory() && !isThinking) {
+            view.updateEvent("Computer moved " + piece.getName()
+                + " (" + engine.getLastSearchInfo() + ")");
         }
     }
 
@@ -132,9 +260,11 @@ public class BoardController {
  * - A win condition must be met.
  *
  * Post-condition:
+ * - The finished match's journal is discarded.
  * - Displays a win message and updates the event label.
  */
     private void handleVictory() {
+        gameController.onGameOver();
         Player winner = game.getGameState().getWinner();
         view.showMessage(winner.getName() + " wins!");
         view.updateEvent(winner.getName() + " has won!");
@@ -154,6 +284,33 @@ public class BoardController {
         view.updateTurn(currentPlayer.getName());
         view.updateEvent("Select a piece to move");
         view.updateBoard();
+        if (forfeitIfStuck()) return;
+        startComputerTurn();
+    }
+
+/**
+ * Ends the game if the player to move, human or computer, has pieces but
+ * no legal move, so the board never waits for a turn nobody can take.
+ *
+ * Pre-condition:
+ * - The game must not be over.
+ *
+ * Post-condition:
+ * - If the current player is stuck, they lose and the result is shown.
+ *
+ * @return true if the game was ended.
+ */
+    private boolean forfeitIfStuck() {
+        if (game.getGameState().checkVictory()
+                || MoveGenerator.generate(game, new int[MoveGenerator.MAX_MOVES]) > 0) {
+            return false;
+        }
+        String stuck = game.getCurrentPlayer().getName();
+        game.forfeit();
+        handleVictory();
+        view.updateEvent(stuck + " has no legal moves; "
+            + game.getGameState().getWinner().getName() + " has won!");
+        return true;
     }
 
 /**
@@ -218,6 +375,7 @@ public class BoardController {
  * - Board window is closed and resources are released.
  */
     public void disposeBoard() {
+        isDisposed = true;
         view.dispose();
     }
 }
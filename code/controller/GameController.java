@@ -1,22 +1,46 @@
 package controller;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import javax.swing.Timer;
 import model.Game;
 import view.GameView;
 import model.GameState;
+import model.MoveGenerator;
 import model.Player;
+import storage.GameDatabase;
+import storage.GameReplay;
+import storage.MoveJournal;
+import storage.MoveSource;
+import storage.OpeningBook;
+import storage.SyncPolicy;
 
 public class GameController {
+    // Every move of the match in progress, so it survives a crash
+    private static final Path JOURNAL_FILE = Paths.get("jungle-king.journal");
+
+    // Opening book for computer players, written by BookBuilder
+    private static final Path BOOK_FILE = Paths.get("jungle-king.book");
+
     private Game game;
     private GameView gameView;
     private MenuController menuController;
     private BoardController boardController;
+    private ReplayController replayController;
     private GameState gameState;
     
     private String player1Piece;
     private String player2Piece;
     private boolean selectionComplete;
+    private List<String> shuffledPieces;
+    private PlayerType player1Type;
+    private PlayerType player2Type;
+    private MoveJournal journal;
+    private OpeningBook book;
 
 /**
  * Constructs a GameController and initializes the main menu.
@@ -27,10 +51,149 @@ public class GameController {
  * Post-condition:
  * - MenuController and GameState are initialized.
  * - Menu is displayed.
+ * - If a match was interrupted, the user is offered to resume it.
+ * - The opening book is opened if there is one.
  */
     public GameController() {
         this.menuController = new MenuController(this);
         this.gameState = new GameState();
+        openBook();
+        resumeInterruptedGame();
+    }
+
+/**
+ * Maps the opening book shared by every computer player.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - book is open, or null if there is no usable book file.
+ */
+    private void openBook() {
+        if (!Files.exists(BOOK_FILE)) return;
+        try {
+            book = OpeningBook.open(BOOK_FILE);
+        } catch (IOException e) {
+            System.err.println("Could not open the opening book: " + e.getMessage());
+        }
+    }
+
+/**
+ * Rebuilds an unfinished match from the journal left by a previous run.
+ *
+ * Pre-condition:
+ * - menuController must be initialized.
+ *
+ * Post-condition:
+ * - If the user resumes, the board opens at the recovered position with
+ *   the players the match was started with, and the journal keeps
+ *   recording; otherwise the journal is deleted.
+ */
+    private void resumeInterruptedGame() {
+        if (!Files.exists(JOURNAL_FILE)) return;
+        try {
+            MoveJournal recovered = MoveJournal.recover(JOURNAL_FILE, SyncPolicy.EVERY_MOVE, 1);
+            Game recoveredGame = recovered.getGame();
+            // A match lost by having no legal move ended without a journaled move
+            if (recoveredGame.getGameState().checkVictory()
+                    || MoveGenerator.generate(recoveredGame, new int[MoveGenerator.MAX_MOVES]) == 0
+                    || !menuController.confirmResume(recovered.getMoveCount())) {
+                recovered.close();
+                Files.deleteIfExists(JOURNAL_FILE);
+                return;
+            }
+            this.game = recoveredGame;
+            this.journal = recovered;
+            this.player1Type = PlayerType.fromCode(recovered.getPlayerKind(1));
+            this.player2Type = PlayerType.fromCode(recovered.getPlayerKind(2));
+            // Restart goes back to piece selection, which needs the view
+            this.gameView = new GameView();
+            gameView.setController(this);
+            menuController.setMenuVisible(false);
+            boardController = new BoardController(this, game,
+                player1Type.createEngine(book), player2Type.createEngine(book));
+            boardController.showBoard();
+        } catch (IOException e) {
+            System.err.println("Could not resume the interrupted match: " + e.getMessage());
+            discardJournal();
+        }
+    }
+
+/**
+ * Starts recording the current game's moves.
+ *
+ * Pre-condition:
+ * - The first player must have been determined.
+ *
+ * Post-condition:
+ * - Every accepted move is forced to the journal file before the turn
+ *   ends; if the file cannot be created the game runs unrecorded.
+ */
+    private void startJournal() {
+        discardJournal();
+        try {
+            journal = MoveJournal.create(JOURNAL_FILE, game, SyncPolicy.EVERY_MOVE, 1,
+                player1Type.ordinal(), player2Type.ordinal());
+        } catch (IOException e) {
+            System.err.println("Could not create the move journal: " + e.getMessage());
+        }
+    }
+
+/**
+ * Called by the board after each move. A journal that failed to write
+ * cannot be resumed from, so it is reported once and deleted, and the
+ * match goes on unrecorded.
+ *
+ * Pre-condition:
+ * - A move has just been played.
+ *
+ * Post-condition:
+ * - If the journal failed, the game has no move listener and no
+ *   journal is open.
+ */
+    public void onMovePlayed() {
+        if (journal == null || journal.getFailure() == null) return;
+        System.err.println("Could not write the move journal, the match is no longer recorded: "
+            + journal.getFailure().getMessage());
+        game.setMoveListener(null);
+        discardJournal();
+    }
+
+/**
+ * Called by the board when the match has been won, by reaching a den or
+ * because the loser had no legal move.
+ *
+ * Pre-condition:
+ * - The game is over.
+ *
+ * Post-condition:
+ * - The journal is deleted, so a finished match is never offered for
+ *   resuming.
+ */
+    public void onGameOver() {
+        discardJournal();
+    }
+
+/**
+ * Closes and deletes the journal of the current match.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - No journal is open and the journal file is gone.
+ */
+    private void discardJournal() {
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+            Files.deleteIfExists(JOURNAL_FILE);
+        } catch (IOException e) {
+            System.err.println("Could not delete the move journal: " + e.getMessage());
+        }
+        journal = null;
     }
 
 /**
@@ -46,6 +209,8 @@ public class GameController {
     public void startNewGame() {
         this.game = new Game();
         this.gameView = new GameView();
+        this.player1Type = menuController.getPlayerType(1);
+        this.player2Type = menuController.getPlayerType(2);
     
         this.player1Piece = null;
         this.player2Piece = null;
@@ -66,10 +231,40 @@ public class GameController {
  * - GameView shows all shuffled pieces for Player 1 to begin selection.
  */
     private void startPieceSelection() {
-        List<String> shuffledPieces = game.getShuffledPieces();
+        shuffledPieces = game.getShuffledPieces();
         gameView.showPieceSelection(shuffledPieces);
         gameView.updateStatus("Player 1: Select your piece");
         gameView.setVisible(true);
+        selectForComputer();
+    }
+
+/**
+ * Picks a face-down piece for a computer player whose turn it is to choose.
+ *
+ * Pre-condition:
+ * - shuffledPieces must be set.
+ *
+ * Post-condition:
+ * - If the player choosing next is a computer, the first piece not yet
+ *   taken is selected for it.
+ */
+    private void selectForComputer() {
+        PlayerType chooser;
+        if (player1Piece == null) {
+            chooser = player1Type;
+        } else if (player2Piece == null) {
+            chooser = player2Type;
+        } else {
+            return;
+        }
+        if (!chooser.isComputer()) return;
+
+        for (String piece : shuffledPieces) {
+            if (!piece.equals(player1Piece)) {
+                onPieceSelected(piece, player1Piece == null);
+                return;
+            }
+        }
     }
 
 /**
@@ -90,6 +285,7 @@ public class GameController {
             player1Piece = piece;
             gameView.disablePieceButton(piece);
             gameView.updateStatus("Player 2: Select your piece");
+            selectForComputer();
         } else if (player2Piece == null) {
             player2Piece = piece;
             gameView.disablePieceButton(piece);
@@ -114,6 +310,7 @@ public class GameController {
             player1Piece, 
             player2Piece
         );
+        startJournal();
 
         String message = String.format("Player 1 selected %s, Player 2 selected %s. %s goes first!", 
             player1Piece, player2Piece, firstPlayer.getName());
@@ -121,7 +318,8 @@ public class GameController {
         
         Timer timer = new Timer(3000, e -> {
             gameView.dispose();
-            boardController = new BoardController(this, game);
+            boardController = new BoardController(this, game,
+                player1Type.createEngine(book), player2Type.createEngine(book));
             boardController.showBoard();
         });
         timer.setRepeats(false);
@@ -143,6 +341,7 @@ public class GameController {
             boardController.disposeBoard();
             boardController = null;
         }
+        discardJournal();
         
         game = new Game();
         
@@ -153,6 +352,114 @@ public class GameController {
         startPieceSelection();
     }
 
+/**
+ * Lets the user pick a move journal or a game from a game database and
+ * shows its replay. Moves are read from the file as the replay reaches
+ * them, so even a very long game opens at once.
+ *
+ * Pre-condition:
+ * - The menu is shown.
+ *
+ * Post-condition:
+ * - The replay window replaces the menu, or an error is shown and any
+ *   database opened for it is closed again.
+ */
+    public void openReplay() {
+        Path file = menuController.chooseReplayFile();
+        if (file == null) return;
+        GameDatabase database = null;
+        try {
+            MoveSource source;
+            if (readMagic(file) == GameDatabase.MAGIC) {
+                // Read-only, so viewing never changes a database still being written
+                database = GameDatabase.openReadOnly(file);
+                source = chooseGame(database, file);
+            } else {
+                source = MoveJournal.openSource(file);
+            }
+            if (source == null) {
+                closeDatabase(database);
+                return;
+            }
+            replayController = new ReplayController(this, new GameReplay(source, GameReplay.DEFAULT_INTERVAL), database);
+        } catch (IOException | RuntimeException e) {
+            closeDatabase(database);
+            menuController.showError("Could not open " + file.getFileName() + ": " + e.getMessage());
+            return;
+        }
+        // The replay now owns the database and closes it with its window
+        menuController.setMenuVisible(false);
+        replayController.showReplay();
+    }
+
+/**
+ * Closes a database that was opened for a replay that will not be shown.
+ *
+ * @param database The database, or null.
+ */
+    private static void closeDatabase(GameDatabase database) {
+        if (database == null) return;
+        try {
+            database.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the game database: " + e.getMessage());
+        }
+    }
+
+/**
+ * Asks which game of a database to replay.
+ *
+ * Pre-condition:
+ * - database must be open.
+ *
+ * Post-condition:
+ * - An error is shown if the database has no such game.
+ *
+ * @param database The database.
+ * @param file The database file, for messages.
+ * @return The chosen game's moves, or null if there is none to show.
+ */
+    private MoveSource chooseGame(GameDatabase database, Path file) {
+        if (database.getGameCount() == 0) {
+            menuController.showError(file.getFileName() + " holds no games.");
+            return null;
+        }
+        int game = menuController.askGameNumber(database.getGameCount());
+        if (game < 0) return null;
+        if (!database.isCommitted(game)) {
+            menuController.showError("Game " + game + " was never completely written.");
+            return null;
+        }
+        return database.moveSource(game);
+    }
+
+/**
+ * Returns to the menu after a replay window was closed.
+ *
+ * Pre-condition:
+ * - The replay window has been disposed.
+ *
+ * Post-condition:
+ * - Main menu is displayed.
+ */
+    public void closeReplay() {
+        replayController = null;
+        menuController.setMenuVisible(true);
+    }
+
+/**
+ * Reads the first four bytes of a file, which name its format.
+ *
+ * @param file The file to check.
+ * @return The magic number.
+ * @throws IOException If the file is shorter or cannot be read.
+ */
+    private static int readMagic(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            return in.readInt();
+        }
+    }
+
 /**
  * Exits the application entirely.
  *
@@ -160,9 +467,20 @@ public class GameController {
  * - None.
  *
  * Post-condition:
+ * - The match in progress stays in its journal and can be resumed.
  * - The application terminates.
  */
     public void exitGame() {
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+            if (book != null) {
+                book.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not close the journal and book files: " + e.getMessage());
+        }
         System.exit(0);
     }
 
@@ -185,6 +503,7 @@ public class GameController {
             boardController.disposeBoard();
             boardController = null;
         }
+        discardJournal();
         
         menuController.setMenuVisible(true);
     }
@@ -1,5 +1,6 @@
 package controller;
 
+import java.nio.file.Path;
 import view.MenuView;
 
 public class MenuController {
@@ -36,6 +37,19 @@ public class MenuController {
         gameController.startNewGame();
     }
 
+/**
+ * Opens the replay of a recorded game from the menu.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The user picks a file and the replay is shown, or nothing changes.
+ */
+    public void openReplay() {
+        gameController.openReplay();
+    }
+
 /**
  * Displays the instructions window from the menu.
  *
@@ -49,6 +63,84 @@ public class MenuController {
         menuView.showInstructions();
     }
 
+/**
+ * Gets who controls a player, as chosen in the menu.
+ *
+ * Pre-condition:
+ * - player must be 1 or 2.
+ *
+ * Post-condition:
+ * - Returns the selected player type.
+ *
+ * @param player The player number.
+ * @return The PlayerType for that player.
+ */
+    public PlayerType getPlayerType(int player) {
+        return menuView.getPlayerType(player);
+    }
+
+/**
+ * Asks the user whether to resume an interrupted match.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Returns the user's answer.
+ *
+ * @param moves The number of moves played in that match.
+ * @return true to resume it.
+ */
+    public boolean confirmResume(long moves) {
+        return menuView.confirmResume(moves);
+    }
+
+/**
+ * Asks the user for a recorded game to replay.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Returns the chosen file.
+ *
+ * @return The file, or null if cancelled.
+ */
+    public Path chooseReplayFile() {
+        return menuView.chooseReplayFile();
+    }
+
+/**
+ * Asks which game of a game database to replay.
+ *
+ * Pre-condition:
+ * - count must be positive.
+ *
+ * Post-condition:
+ * - Returns the user's answer.
+ *
+ * @param count The number of games in the database.
+ * @return The game number, or -1 if cancelled or invalid.
+ */
+    public int askGameNumber(int count) {
+        return menuView.askGameNumber(count);
+    }
+
+/**
+ * Shows an error message over the menu.
+ *
+ * Pre-condition:
+ * - message must be non-null.
+ *
+ * Post-condition:
+ * - The message is displayed.
+ *
+ * @param message The message to show.
+ */
+    public void showError(String message) {
+        menuView.showError(message);
+    }
+
 /**
  * Exits the entire application from the menu.
  *
@@ -0,0 +1,78 @@
+package controller;
+
+import engine.AlphaBetaEngine;
+import engine.BookEngine;
+import engine.Engine;
+import engine.MctsEngine;
+import storage.OpeningBook;
+
+public enum PlayerType {
+    // Match journals store ordinal(), so new types go at the end
+    HUMAN("Human"),
+    ALPHA_BETA("Computer (Alpha-Beta)"),
+    MCTS("Computer (MCTS)");
+
+    private final String label;
+
+/**
+ * Constructs a PlayerType with the label shown in the menu.
+ *
+ * @param label The menu label.
+ */
+    PlayerType(String label) {
+        this.label = label;
+    }
+
+/**
+ * Checks whether this player is controlled by the computer.
+ *
+ * @return true for every type except HUMAN.
+ */
+    public boolean isComputer() {
+        return this != HUMAN;
+    }
+
+/**
+ * Creates the engine that plays for this player type.
+ *
+ * Pre-condition:
+ * - isComputer() must be true.
+ *
+ * Post-condition:
+ * - Returns a new engine, or null for HUMAN. With a book, the engine
+ *   plays book moves before it starts searching.
+ *
+ * @param book The opening book to consult, or null.
+ * @return A new Engine instance.
+ */
+    public Engine createEngine(OpeningBook book) {
+        Engine engine;
+        switch (this) {
+            case ALPHA_BETA: engine = new AlphaBetaEngine(); break;
+            case MCTS: engine = new MctsEngine(); break;
+            default: return null;
+        }
+        return book == null ? engine : new BookEngine(engine, book, BookEngine.DEFAULT_MIN_GAMES);
+    }
+
+/**
+ * Gets the player type stored in a match journal.
+ *
+ * @param code The value written by ordinal().
+ * @return The player type, or HUMAN for an unknown code.
+ */
+    public static PlayerType fromCode(int code) {
+        PlayerType[] types = values();
+        return code >= 0 && code < types.length ? types[code] : HUMAN;
+    }
+
+/**
+ * Gets the menu label of this player type.
+ *
+ * @return The label.
+ */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
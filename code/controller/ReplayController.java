@@ -0,0 +1,161 @@
+package controller;
+
+import java.awt.Color;
+import java.io.IOException;
+import model.BitBoard;
+import model.Move;
+import storage.GameDatabase;
+import storage.GameReplay;
+import view.BoardView;
+
+public class ReplayController {
+    private GameController gameController;
+    private GameReplay replay;
+    private GameDatabase database;
+    private BoardView view;
+
+/**
+ * Constructs a ReplayController showing a recorded game from its start.
+ *
+ * Pre-condition:
+ * - gameController and replay must be valid.
+ *
+ * Post-condition:
+ * - A board view in replay mode is prepared but not shown.
+ * - The replay owns database and closes it when the replay is closed.
+ *
+ * @param gameController The GameController to return to when closed.
+ * @param replay The recorded game.
+ * @param database The database the replay reads from, or null.
+ */
+    public ReplayController(GameController gameController, GameReplay replay, GameDatabase database) {
+        this.gameController = gameController;
+        this.replay = replay;
+        this.database = database;
+        this.view = new BoardView(this, replay.getGame().getBoard());
+        updateView();
+    }
+
+/**
+ * Shows the move after the current one.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The board shows the next position, if any.
+ */
+    public void stepForward() {
+        if (replay.stepForward()) {
+            updateView();
+        }
+    }
+
+/**
+ * Shows the position before the current move.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The board shows the previous position, if any.
+ */
+    public void stepBack() {
+        if (replay.stepBack()) {
+            updateView();
+        }
+    }
+
+/**
+ * Jumps to any move of the game.
+ *
+ * Pre-condition:
+ * - None; ply is clamped to the game.
+ *
+ * Post-condition:
+ * - The board shows the position after ply moves.
+ *
+ * @param ply The ply to show.
+ */
+    public void seek(int ply) {
+        if (ply == replay.getPly()) return;
+        replay.seek(ply);
+        updateView();
+    }
+
+/**
+ * Gets the length of the recorded game.
+ *
+ * @return The number of plies.
+ */
+    public int getPlies() {
+        return replay.getPlies();
+    }
+
+/**
+ * Makes the replay window visible.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The replay window is displayed.
+ */
+    public void showReplay() {
+        view.setVisible(true);
+    }
+
+/**
+ * Closes the replay and returns to the main menu.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The replay window is disposed, its database closed and the menu is shown.
+ */
+    public void closeReplay() {
+        view.dispose();
+        if (database != null) {
+            try {
+                database.close();
+            } catch (IOException e) {
+                System.err.println("Could not close the game database: " + e.getMessage());
+            }
+            database = null;
+        }
+        gameController.closeReplay();
+    }
+
+/**
+ * Refreshes the board, the move counter and the last move's highlight.
+ *
+ * Pre-condition:
+ * - view must be initialized.
+ *
+ * Post-condition:
+ * - The view matches the replay's current ply.
+ */
+    private void updateView() {
+        view.updateBoard();
+        view.clearHighlights();
+        view.updateReplayPosition(replay.getPly(), replay.getPlies());
+        view.updateTurn(replay.getGame().getCurrentPlayer().getName());
+
+        int move = replay.getLastMove();
+        if (move < 0) {
+            view.updateEvent("Move 0 of " + replay.getPlies());
+            return;
+        }
+        int from = Move.from(move);
+        int to = Move.to(move);
+        view.highlightTile(BitBoard.rowOf(from), BitBoard.colOf(from), new Color(150, 150, 150));
+        view.highlightTile(BitBoard.rowOf(to), BitBoard.colOf(to), new Color(50, 150, 50));
+
+        String event = "Move " + replay.getPly() + " of " + replay.getPlies() + ": " + Move.toString(move);
+        if (replay.getGame().getGameState().checkVictory()) {
+            event += " - " + replay.getGame().getGameState().getWinner().getName() + " wins";
+        }
+        view.updateEvent(event);
+    }
+}
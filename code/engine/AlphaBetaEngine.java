@@ -0,0 +1,77 @@
+package engine;
+
+import model.BitBoard;
+
+public class AlphaBetaEngine implements Engine {
+    public static final long DEFAULT_TIME_MILLIS = 1000;
+    public static final int DEFAULT_TABLE_MB = 64;
+
+    private final long timeLimitMillis;
+    private final TranspositionTable table;
+    private final AlphaBetaSearch search;
+    private String lastSearchInfo;
+
+/**
+ * Constructs an engine with the default one-second move budget.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The engine owns a DEFAULT_TABLE_MB transposition table.
+ */
+    public AlphaBetaEngine() {
+        this(DEFAULT_TIME_MILLIS, DEFAULT_TABLE_MB);
+    }
+
+/**
+ * Constructs an engine with a custom move budget and table size.
+ *
+ * Pre-condition:
+ * - timeLimitMillis and tableMegabytes must be positive.
+ *
+ * Post-condition:
+ * - The engine is ready to search.
+ *
+ * @param timeLimitMillis The time to spend on each move.
+ * @param tableMegabytes The transposition table size in MB.
+ */
+    public AlphaBetaEngine(long timeLimitMillis, int tableMegabytes) {
+        this.timeLimitMillis = timeLimitMillis;
+        this.table = new TranspositionTable(tableMegabytes);
+        this.search = new AlphaBetaSearch(table);
+        this.lastSearchInfo = "";
+    }
+
+/**
+ * Chooses a move with iterative-deepening alpha-beta search.
+ *
+ * Pre-condition:
+ * - The position must not be over and the side to move must have a legal move.
+ *
+ * Post-condition:
+ * - Returns the best move of the deepest completed iteration.
+ *
+ * @param position The position to search.
+ * @return The chosen move.
+ */
+    @Override
+    public int chooseMove(BitBoard position) {
+        long start = System.nanoTime();
+        int move = search.search(position, timeLimitMillis, AlphaBetaSearch.MAX_PLY);
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        lastSearchInfo = String.format("depth %d, %,d nodes, %,d nodes/s",
+            search.getCompletedDepth(), search.getNodes(), search.getNodes() * 1_000_000_000L / elapsed);
+        return move;
+    }
+
+/**
+ * Gets depth and speed of the last search.
+ *
+ * @return The last search summary.
+ */
+    @Override
+    public String getLastSearchInfo() {
+        return lastSearchInfo;
+    }
+}
@@ -0,0 +1,348 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import model.BitBoard;
+import model.Move;
+import model.MoveGenerator;
+
+public class AlphaBetaSearch {
+    public static final int WIN = 30000;
+    public static final int MAX_PLY = 64;
+
+    // Scores beyond this are wins found at a known ply
+    private static final int WIN_BOUND = WIN - MAX_PLY;
+    private static final int INFINITY = WIN + 1;
+
+    // How often the clock is read, in nodes
+    private static final int CHECK_INTERVAL = 1023;
+
+    private final TranspositionTable table;
+    private final BitBoard position;
+    private final int[] moves;
+    private final int[] scores;
+    private final int[][] history;
+
+    // Raised by whoever owns the search group; read before a search starts
+    private final AtomicBoolean groupStop;
+
+    private volatile boolean stopped;
+    private long deadline;
+    private long nodes;
+    private int completedDepth;
+    private int bestMove;
+    private int bestScore;
+    private int rootBestMove;
+
+/**
+ * Constructs a search worker that shares the given transposition table.
+ *
+ * Pre-condition:
+ * - table must not be null.
+ *
+ * Post-condition:
+ * - The worker owns its own position copy and move buffers.
+ *
+ * @param table The transposition table to read and write.
+ */
+    public AlphaBetaSearch(TranspositionTable table) {
+        this(table, new AtomicBoolean());
+    }
+
+/**
+ * Constructs a search worker of a group that is stopped together. While
+ * groupStop is set, a running search returns at its next clock check and
+ * a search that is only starting returns without searching.
+ *
+ * Pre-condition:
+ * - table and groupStop must not be null.
+ *
+ * Post-condition:
+ * - The worker owns its own position copy and move buffers.
+ *
+ * @param table The transposition table to read and write.
+ * @param groupStop The stop signal shared by the group.
+ */
+    public AlphaBetaSearch(TranspositionTable table, AtomicBoolean groupStop) {
+        this.table = table;
+        this.groupStop = groupStop;
+        this.position = new BitBoard();
+        this.moves = new int[MAX_PLY * MoveGenerator.MAX_MOVES];
+        this.scores = new int[MAX_PLY * MoveGenerator.MAX_MOVES];
+        this.history = new int[BitBoard.SQUARES][BitBoard.SQUARES];
+    }
+
+/**
+ * Runs iterative deepening until the time is up or maxDepth is reached.
+ *
+ * Pre-condition:
+ * - root must not be over and its side to move must have a legal move.
+ *
+ * Post-condition:
+ * - Returns the best move of the deepest fully searched iteration.
+ * - root is left unchanged.
+ *
+ * @param root The position to search.
+ * @param timeLimitMillis The time budget in milliseconds.
+ * @param maxDepth The deepest iteration to run.
+ * @return The best move found.
+ */
+    public int search(BitBoard root, long timeLimitMillis, int maxDepth) {
+        return search(root, timeLimitMillis, maxDepth, 1);
+    }
+
+/**
+ * Runs iterative deepening starting from a given depth. Helper threads of
+ * a parallel search start at different depths to spread their work.
+ *
+ * Pre-condition:
+ * - root must not be over and its side to move must have a legal move.
+ *
+ * Post-condition:
+ * - Returns the best move of the deepest fully searched iteration.
+ *
+ * @param root The position to search.
+ * @param timeLimitMillis The time budget in milliseconds.
+ * @param maxDepth The deepest iteration to run.
+ * @param startDepth The first iteration depth.
+ * @return The best move found.
+ */
+    public int search(BitBoard root, long timeLimitMillis, int maxDepth, int startDepth) {
+        position.copyFrom(root);
+        stopped = groupStop.get();
+        deadline = System.nanoTime() + timeLimitMillis * 1_000_000L;
+        nodes = 0;
+        completedDepth = 0;
+        bestMove = 0;
+        bestScore = 0;
+        ageHistory();
+
+        int count = MoveGenerator.generate(position, position.getSideToMove(), moves, 0);
+        if (count > 0) {
+            bestMove = moves[0];
+        }
+
+        for (int depth = startDepth; depth <= Math.min(maxDepth, MAX_PLY - 1) && !stopped; depth++) {
+            int score = negamax(depth, -INFINITY, INFINITY, 0);
+            if (stopped) break;
+            bestScore = score;
+            bestMove = rootBestMove;
+            completedDepth = depth;
+            if (Math.abs(score) >= WIN_BOUND) break;
+        }
+        return bestMove;
+    }
+
+/**
+ * Asks a running search to return as soon as possible.
+ *
+ * Pre-condition:
+ * - None. May be called from another thread.
+ *
+ * Post-condition:
+ * - The search stops at its next node and keeps its last completed result.
+ */
+    public void stop() {
+        stopped = true;
+    }
+
+/**
+ * Searches a node with alpha-beta, scoring from the side to move.
+ *
+ * @param depth The remaining depth.
+ * @param alpha The lower bound.
+ * @param beta The upper bound.
+ * @param ply The distance from the root.
+ * @return The node's score.
+ */
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        if ((++nodes & CHECK_INTERVAL) == 0 && (System.nanoTime() > deadline || groupStop.get())) {
+            stopped = true;
+        }
+        if (stopped) return 0;
+
+        // The winner keeps the move after entering the home base
+        if (position.isGameOver()) {
+            return WIN - ply;
+        }
+        if (depth == 0 || ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(position);
+        }
+
+        long key = position.getKey();
+        int ttMove = 0;
+        long data = table.probe(key);
+        if (data != TranspositionTable.MISS) {
+            ttMove = TranspositionTable.move(data);
+            if (ply > 0 && TranspositionTable.depth(data) >= depth) {
+                int ttScore = fromTable(TranspositionTable.score(data), ply);
+                int bound = TranspositionTable.bound(data);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && ttScore >= beta)
+                        || (bound == TranspositionTable.UPPER && ttScore <= alpha)) {
+                    return ttScore;
+                }
+            }
+        }
+
+        int side = position.getSideToMove();
+        int offset = ply * MoveGenerator.MAX_MOVES;
+        int count = MoveGenerator.generate(position, side, moves, offset);
+        if (count == 0) {
+            // No legal move loses
+            return -(WIN - ply);
+        }
+        scoreMoves(offset, count, ttMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestLocal = 0;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(offset, i, count);
+            position.makeMove(move);
+            int score;
+            if (position.getSideToMove() == side) {
+                score = negamax(depth - 1, alpha, beta, ply + 1);
+            } else {
+                score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            }
+            position.unmakeMove();
+            if (stopped) return 0;
+
+            if (score > best) {
+                best = score;
+                bestLocal = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        if (!Move.isCapture(move)) {
+                            history[Move.from(move)][Move.to(move)] += depth * depth;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound;
+        if (best <= originalAlpha) {
+            bound = TranspositionTable.UPPER;
+        } else if (best >= beta) {
+            bound = TranspositionTable.LOWER;
+        } else {
+            bound = TranspositionTable.EXACT;
+        }
+        table.store(key, bestLocal, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+/**
+ * Halves the history scores so older searches weigh less.
+ */
+    private void ageHistory() {
+        for (int[] row : history) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+    }
+
+/**
+ * Gives each move an ordering score: table move first, then captures by
+ * victim value, then quiet moves by history.
+ *
+ * @param offset The first move index.
+ * @param count The number of moves.
+ * @param ttMove The move stored in the table, or 0.
+ */
+    private void scoreMoves(int offset, int count, int ttMove) {
+        for (int i = offset; i < offset + count; i++) {
+            int move = moves[i];
+            if (move == ttMove) {
+                scores[i] = Integer.MAX_VALUE;
+            } else if (Move.isCapture(move)) {
+                int victim = BitBoard.animalOf(position.pieceAt(Move.to(move)));
+                scores[i] = 1_000_000 + Evaluator.material(victim);
+            } else {
+                scores[i] = history[Move.from(move)][Move.to(move)];
+            }
+        }
+    }
+
+/**
+ * Moves the best-scored remaining move to position i and returns it.
+ *
+ * @param offset The first move index.
+ * @param i The index (relative to offset) to fill.
+ * @param count The number of moves.
+ * @return The move to search next.
+ */
+    private int pickNext(int offset, int i, int count) {
+        int best = offset + i;
+        for (int j = best + 1; j < offset + count; j++) {
+            if (scores[j] > scores[best]) best = j;
+        }
+        int move = moves[best];
+        int score = scores[best];
+        moves[best] = moves[offset + i];
+        scores[best] = scores[offset + i];
+        moves[offset + i] = move;
+        scores[offset + i] = score;
+        return move;
+    }
+
+/**
+ * Converts a win score to be relative to the stored node.
+ *
+ * @param score The score relative to the root.
+ * @param ply The node's ply.
+ * @return The score to store.
+ */
+    private static int toTable(int score, int ply) {
+        if (score >= WIN_BOUND) return score + ply;
+        if (score <= -WIN_BOUND) return score - ply;
+        return score;
+    }
+
+/**
+ * Converts a stored win score back to be relative to the root.
+ *
+ * @param score The stored score.
+ * @param ply The node's ply.
+ * @return The score relative to the root.
+ */
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN_BOUND) return score - ply;
+        if (score <= -WIN_BOUND) return score + ply;
+        return score;
+    }
+
+/**
+ * Gets the number of nodes visited by the last search.
+ *
+ * @return The node count.
+ */
+    public long getNodes() {
+        return nodes;
+    }
+
+/**
+ * Gets the deepest iteration the last search completed.
+ *
+ * @return The completed depth.
+ */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+/**
+ * Gets the score of the deepest completed iteration.
+ *
+ * @return The score from the root side's point of view.
+ */
+    public int getBestScore() {
+        return bestScore;
+    }
+}
@@ -0,0 +1,69 @@
+package engine;
+
+import model.BitBoard;
+import storage.OpeningBook;
+
+public class BookEngine implements Engine {
+    // Games a book move needs before it is played without searching
+    public static final int DEFAULT_MIN_GAMES = 8;
+
+    private final Engine engine;
+    private final OpeningBook book;
+    private final int minGames;
+    private String lastSearchInfo;
+
+/**
+ * Constructs an engine that plays from an opening book while the
+ * position is in it and searches with another engine afterwards.
+ *
+ * Pre-condition:
+ * - engine and book must be valid; minGames must be positive.
+ *
+ * Post-condition:
+ * - The engine is ready to play; the book may be shared with other engines.
+ *
+ * @param engine The engine used once the book runs out.
+ * @param book The opening book.
+ * @param minGames The games a book move needs to be played.
+ */
+    public BookEngine(Engine engine, OpeningBook book, int minGames) {
+        this.engine = engine;
+        this.book = book;
+        this.minGames = minGames;
+        this.lastSearchInfo = "";
+    }
+
+/**
+ * Chooses the book move of the position, or searches if there is none.
+ *
+ * Pre-condition:
+ * - The position must not be over and the side to move must have a legal move.
+ *
+ * Post-condition:
+ * - Returns a legal move; the position is left unchanged.
+ *
+ * @param position The position to search.
+ * @return The chosen move.
+ */
+    @Override
+    public int chooseMove(BitBoard position) {
+        int move = book.bestMove(position, minGames);
+        if (move >= 0) {
+            lastSearchInfo = "book move";
+            return move;
+        }
+        move = engine.chooseMove(position);
+        lastSearchInfo = engine.getLastSearchInfo();
+        return move;
+    }
+
+/**
+ * Gets the summary of the last move, which was from the book or searched.
+ *
+ * @return The last search summary.
+ */
+    @Override
+    public String getLastSearchInfo() {
+        return lastSearchInfo;
+    }
+}
@@ -0,0 +1,31 @@
+package engine;
+
+import model.BitBoard;
+
+/**
+ * Interface for computer players that pick a move for the side to move.
+ */
+public interface Engine 
+{
+    /**
+     * Chooses a move for the side to move in the given position.
+     *
+     * Pre-condition:
+     * - The position must not be over and the side to move must have a legal move.
+     *
+     * Post-condition:
+     * - Returns an encoded move (see model.Move) that is legal in the position.
+     * - The given position is left unchanged.
+     *
+     * @param position The position to search.
+     * @return The chosen move.
+     */
+    int chooseMove(BitBoard position);
+
+    /**
+     * Gets a short description of the last search for status displays.
+     *
+     * @return A one-line summary such as depth and speed.
+     */
+    String getLastSearchInfo();
+}
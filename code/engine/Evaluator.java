@@ -0,0 +1,58 @@
+package engine;
+
+import model.BitBoard;
+import model.Game;
+import model.PieceSquareTable;
+
+public final class Evaluator {
+
+    private Evaluator() {
+    }
+
+/**
+ * Scores a position from the point of view of the side to move.
+ *
+ * Pre-condition:
+ * - position must not be null.
+ *
+ * Post-condition:
+ * - Returns material, advancement toward the enemy home base and trap
+ *   pressure for the side to move, minus the same for the opponent.
+ * - Runs in constant time: the score is kept up to date by the bitboard
+ *   as moves are made and taken back (see PieceSquareTable).
+ *
+ * @param position The position to score.
+ * @return The score in centi-pieces; positive favours the side to move.
+ */
+    public static int evaluate(BitBoard position) {
+        int score = position.getScore();
+        return position.getSideToMove() == BitBoard.BLUE ? score : -score;
+    }
+
+/**
+ * Scores a game's current position from the point of view of the player
+ * to move.
+ *
+ * Pre-condition:
+ * - The first player must have been determined.
+ *
+ * Post-condition:
+ * - Returns the same value as evaluate on the game's bitboard.
+ *
+ * @param game The game to score.
+ * @return The score; positive favours the current player.
+ */
+    public static int evaluate(Game game) {
+        return evaluate(game.getBoard().getBitBoard());
+    }
+
+/**
+ * Gets the material value of an animal.
+ *
+ * @param animal The animal index.
+ * @return The animal's value.
+ */
+    public static int material(int animal) {
+        return PieceSquareTable.material(animal);
+    }
+}
@@ -0,0 +1,190 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import model.BitBoard;
+
+public class LazySmpEngine implements Engine {
+    private final long timeLimitMillis;
+    private final TranspositionTable table;
+    private final AlphaBetaSearch[] workers;
+    private final ExecutorService helpers;
+
+    // Raised when the main worker finishes; helpers that start late see it too
+    private final AtomicBoolean stopHelpers;
+    private long lastNodes;
+    private int lastDepth;
+    private String lastSearchInfo;
+
+/**
+ * Constructs an engine with one worker per available processor.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The engine is ready with the default time budget and table size.
+ */
+    public LazySmpEngine() {
+        this(Runtime.getRuntime().availableProcessors(),
+            AlphaBetaEngine.DEFAULT_TIME_MILLIS, AlphaBetaEngine.DEFAULT_TABLE_MB);
+    }
+
+/**
+ * Constructs a Lazy SMP engine: every worker runs its own iterative
+ * deepening search on its own position copy, and all of them share one
+ * transposition table so they profit from each other's results.
+ *
+ * Pre-condition:
+ * - threads, timeLimitMillis and tableMegabytes must be positive.
+ *
+ * Post-condition:
+ * - threads - 1 helper threads are started; the calling thread is the
+ *   main worker during a search.
+ *
+ * @param threads The number of search threads.
+ * @param timeLimitMillis The time to spend on each move.
+ * @param tableMegabytes The shared transposition table size in MB.
+ */
+    public LazySmpEngine(int threads, long timeLimitMillis, int tableMegabytes) {
+        this.timeLimitMillis = timeLimitMillis;
+        this.table = new TranspositionTable(tableMegabytes);
+        this.workers = new AlphaBetaSearch[threads];
+        this.stopHelpers = new AtomicBoolean();
+        // The main worker stops on its own clock only
+        workers[0] = new AlphaBetaSearch(table);
+        for (int i = 1; i < threads; i++) {
+            workers[i] = new AlphaBetaSearch(table, stopHelpers);
+        }
+        this.helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "lazy-smp-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.lastSearchInfo = "";
+    }
+
+/**
+ * Searches with all workers for the time budget and returns the move of
+ * the worker that completed the deepest iteration.
+ *
+ * Pre-condition:
+ * - The position must not be over and the side to move must have a legal move.
+ *
+ * Post-condition:
+ * - Returns a legal move; the position is left unchanged.
+ * - Every helper has finished; an interrupt of the calling thread is kept
+ *   for its caller.
+ *
+ * @param position The position to search.
+ * @return The chosen move.
+ * @throws IllegalStateException If a helper search failed.
+ */
+    @Override
+    public int chooseMove(BitBoard position) {
+        long start = System.nanoTime();
+        stopHelpers.set(false);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 1; i < workers.length; i++) {
+            AlphaBetaSearch worker = workers[i];
+            // Odd helpers start one ply deeper so workers do not move in lockstep
+            int startDepth = 1 + (i & 1);
+            results.add(helpers.submit(() ->
+                worker.search(position, timeLimitMillis, AlphaBetaSearch.MAX_PLY, startDepth)));
+        }
+
+        int bestMove = workers[0].search(position, timeLimitMillis, AlphaBetaSearch.MAX_PLY);
+        int bestDepth = workers[0].getCompletedDepth();
+        long nodes = workers[0].getNodes();
+
+        stopHelpers.set(true);
+        boolean interrupted = false;
+        for (int i = 1; i < workers.length; i++) {
+            int move = 0;
+            // Helpers stop within microseconds; wait them out so none is still running on the next move
+            while (true) {
+                try {
+                    move = results.get(i - 1).get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Helper search failed", e.getCause());
+                }
+            }
+            nodes += workers[i].getNodes();
+            if (workers[i].getCompletedDepth() > bestDepth && move != 0) {
+                bestDepth = workers[i].getCompletedDepth();
+                bestMove = move;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        lastNodes = nodes;
+        lastDepth = bestDepth;
+        lastSearchInfo = String.format("%d threads, depth %d, %,d nodes, %,d nodes/s",
+            workers.length, bestDepth, nodes, nodes * 1_000_000_000L / elapsed);
+        return bestMove;
+    }
+
+/**
+ * Gets depth and speed of the last search.
+ *
+ * @return The last search summary.
+ */
+    @Override
+    public String getLastSearchInfo() {
+        return lastSearchInfo;
+    }
+
+/**
+ * Gets the total nodes all workers visited in the last search.
+ *
+ * @return The node count.
+ */
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+/**
+ * Gets the deepest iteration completed in the last search.
+ *
+ * @return The depth.
+ */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+/**
+ * Gets the shared transposition table.
+ *
+ * @return The table used by every worker.
+ */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+/**
+ * Stops the helper threads.
+ *
+ * Pre-condition:
+ * - No search may be running.
+ *
+ * Post-condition:
+ * - The engine can no longer search with more than one thread.
+ */
+    public void shutdown() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+}
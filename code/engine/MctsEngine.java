@@ -0,0 +1,285 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+import model.BitBoard;
+import model.MoveGenerator;
+
+public class MctsEngine implements Engine {
+    public static final double DEFAULT_EXPLORATION = 1.4;
+    public static final long DEFAULT_TIME_MILLIS = 1000;
+
+    // Random games longer than this are scored as a draw
+    public static final int MAX_PLAYOUT_PLIES = 300;
+
+    private static final int TREE_CAPACITY = 1 << 18;
+
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final double exploration;
+    private final long timeLimitMillis;
+    private final long playoutBudget;
+    private final SplittableRandom seeds;
+    private long lastPlayouts;
+    private String lastSearchInfo;
+
+/**
+ * Constructs an MCTS engine using every processor for one second a move.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The engine uses the common ForkJoinPool with default settings.
+ */
+    public MctsEngine() {
+        this(ForkJoinPool.getCommonPoolParallelism(), DEFAULT_EXPLORATION, DEFAULT_TIME_MILLIS, Long.MAX_VALUE);
+    }
+
+/**
+ * Constructs a root-parallel MCTS engine. Each worker grows its own UCT
+ * tree from the root, and the root visit counts are summed at the end.
+ *
+ * Pre-condition:
+ * - workers must be positive, exploration non-negative.
+ * - At least one of timeLimitMillis and playoutBudget must be finite.
+ *
+ * Post-condition:
+ * - The engine is ready to search.
+ *
+ * @param workers The number of parallel trees.
+ * @param exploration The UCT exploration constant.
+ * @param timeLimitMillis The time to spend on each move.
+ * @param playoutBudget The total playouts to run per move.
+ */
+    public MctsEngine(int workers, double exploration, long timeLimitMillis, long playoutBudget) {
+        this.pool = ForkJoinPool.commonPool();
+        this.workers = Math.max(1, workers);
+        this.exploration = exploration;
+        this.timeLimitMillis = timeLimitMillis;
+        this.playoutBudget = playoutBudget;
+        this.seeds = new SplittableRandom();
+        this.lastSearchInfo = "";
+    }
+
+/**
+ * Runs the parallel trees until time or the playout budget runs out and
+ * returns the root move visited most often across all trees.
+ *
+ * Pre-condition:
+ * - The position must not be over and the side to move must have a legal move.
+ *
+ * Post-condition:
+ * - Returns a legal move; the position is left unchanged.
+ * - Every tree has finished; an interrupt of the calling thread is kept
+ *   for its caller.
+ *
+ * @param position The position to search.
+ * @return The chosen move.
+ * @throws IllegalStateException If a tree's search failed.
+ */
+    @Override
+    public int chooseMove(BitBoard position) {
+        long start = System.nanoTime();
+        long deadline = timeLimitMillis == Long.MAX_VALUE
+            ? Long.MAX_VALUE : start + timeLimitMillis * 1_000_000L;
+        long perWorker = playoutBudget == Long.MAX_VALUE
+            ? Long.MAX_VALUE : Math.max(1, playoutBudget / workers);
+
+        List<Future<Tree>> results = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Tree tree = new Tree(position, seeds.split(), exploration);
+            results.add(pool.submit(() -> {
+                tree.run(deadline, perWorker);
+                return tree;
+            }));
+        }
+
+        int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generate(position, position.getSideToMove(), rootMoves, 0);
+        long[] visits = new long[count];
+        long playouts = 0;
+        boolean interrupted = false;
+        for (Future<Tree> result : results) {
+            Tree tree;
+            // Trees stop on their own deadline; wait them out rather than leave them running
+            while (true) {
+                try {
+                    tree = result.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Search tree failed", e.getCause());
+                }
+            }
+            playouts += tree.playouts;
+            tree.addRootVisits(rootMoves, visits);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (visits[i] > visits[best]) best = i;
+        }
+
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        lastPlayouts = playouts;
+        lastSearchInfo = String.format("%d trees, %,d playouts, %,d playouts/s",
+            workers, playouts, playouts * 1_000_000_000L / elapsed);
+        return rootMoves[best];
+    }
+
+/**
+ * Gets playout count and speed of the last search.
+ *
+ * @return The last search summary.
+ */
+    @Override
+    public String getLastSearchInfo() {
+        return lastSearchInfo;
+    }
+
+/**
+ * Gets the total playouts run by the last search.
+ *
+ * @return The playout count.
+ */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /**
+     * One worker's UCT tree, stored in parallel primitive arrays.
+     */
+    private static class Tree {
+        private final BitBoard root;
+        private final BitBoard position;
+        private final SplittableRandom random;
+        private final PlayoutEngine playoutEngine;
+        private final double exploration;
+
+        private final int[] move = new int[TREE_CAPACITY];
+        private final int[] mover = new int[TREE_CAPACITY];
+        private final int[] firstChild = new int[TREE_CAPACITY];
+        private final int[] childCount = new int[TREE_CAPACITY];
+        private final int[] visits = new int[TREE_CAPACITY];
+        private final double[] wins = new double[TREE_CAPACITY];
+        private final int[] path = new int[MAX_PLAYOUT_PLIES + 1];
+        private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+        private int size;
+        private long playouts;
+
+        Tree(BitBoard start, SplittableRandom random, double exploration) {
+            this.root = new BitBoard();
+            this.root.copyFrom(start);
+            this.position = new BitBoard();
+            this.random = random;
+            this.playoutEngine = new PlayoutEngine(random, MAX_PLAYOUT_PLIES);
+            this.exploration = exploration;
+            this.size = 1;
+            this.firstChild[0] = -1;
+        }
+
+        /**
+         * Runs select, expand, playout and backpropagate until a limit is hit.
+         */
+        void run(long deadline, long budget) {
+            while (playouts < budget && ((playouts & 63) != 0 || System.nanoTime() < deadline)) {
+                position.copyFrom(root);
+                int depth = 0;
+                int node = 0;
+                path[depth++] = node;
+
+                // Selection, leaving room in path for the expanded child
+                while (firstChild[node] >= 0 && childCount[node] > 0 && !position.isGameOver()
+                        && depth < path.length - 1) {
+                    node = selectChild(node);
+                    position.makeMove(move[node]);
+                    path[depth++] = node;
+                }
+
+                // Expansion
+                if (firstChild[node] < 0 && !position.isGameOver() && visits[node] > 0) {
+                    expand(node);
+                    if (childCount[node] > 0) {
+                        node = firstChild[node] + random.nextInt(childCount[node]);
+                        position.makeMove(move[node]);
+                        path[depth++] = node;
+                    }
+                }
+
+                int winner = playoutEngine.run(position, false);
+                playouts++;
+
+                // Backpropagation
+                for (int i = 0; i < depth; i++) {
+                    int n = path[i];
+                    visits[n]++;
+                    if (winner == BitBoard.EMPTY) {
+                        wins[n] += 0.5;
+                    } else if (winner == mover[n]) {
+                        wins[n] += 1.0;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Picks the child with the highest UCT value.
+         */
+        private int selectChild(int node) {
+            double logParent = Math.log(Math.max(1, visits[node]));
+            int best = firstChild[node];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int c = firstChild[node]; c < firstChild[node] + childCount[node]; c++) {
+                if (visits[c] == 0) return c;
+                double value = wins[c] / visits[c] + exploration * Math.sqrt(logParent / visits[c]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Adds a child for every legal move, if the tree has room.
+         */
+        private void expand(int node) {
+            int side = position.getSideToMove();
+            int count = MoveGenerator.generate(position, side, moves, 0);
+            if (size + count > TREE_CAPACITY) return;
+            firstChild[node] = size;
+            childCount[node] = count;
+            for (int i = 0; i < count; i++) {
+                int child = size++;
+                move[child] = moves[i];
+                mover[child] = side;
+                firstChild[child] = -1;
+                childCount[child] = 0;
+            }
+        }
+
+        /**
+         * Adds this tree's root child visits to the shared totals.
+         */
+        void addRootVisits(int[] rootMoves, long[] totals) {
+            if (firstChild[0] < 0) return;
+            for (int c = firstChild[0]; c < firstChild[0] + childCount[0]; c++) {
+                for (int i = 0; i < totals.length; i++) {
+                    if (rootMoves[i] == move[c]) {
+                        totals[i] += visits[c];
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
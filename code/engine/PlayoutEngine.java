@@ -0,0 +1,198 @@
+package engine;
+
+import java.util.SplittableRandom;
+import model.BitBoard;
+import model.CaptureTable;
+import model.Game;
+import model.Move;
+import model.MoveGenerator;
+import model.PieceSquareTable;
+
+public class PlayoutEngine {
+    // Games longer than this are scored as a draw
+    public static final int DEFAULT_MAX_PLIES = 300;
+
+    // Move weights for weighted playouts
+    private static final int BASE_WEIGHT = 4;
+    private static final int ADVANCE_WEIGHT = 2;
+    private static final int SUICIDE_WEIGHT = 1;
+
+    // Victim material is divided by this to give a winning capture's extra weight
+    private static final int CAPTURE_WEIGHT_DIVISOR = 50;
+
+    // DISTANCE[side][sq] is the step distance from sq to the enemy home base
+    private static final int[][] DISTANCE = new int[2][BitBoard.SQUARES];
+
+    static {
+        for (int side = BitBoard.BLUE; side <= BitBoard.GREEN; side++) {
+            int den = Long.numberOfTrailingZeros(BitBoard.denOf(side ^ 1));
+            for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+                DISTANCE[side][sq] = Math.abs(BitBoard.rowOf(sq) - BitBoard.rowOf(den))
+                    + Math.abs(BitBoard.colOf(sq) - BitBoard.colOf(den));
+            }
+        }
+    }
+
+    private final BitBoard position;
+    private final int[] moves;
+    private final int[] weights;
+    private final SplittableRandom random;
+    private final int maxPlies;
+    private int lastLength;
+
+/**
+ * Constructs a playout engine with the default ply limit.
+ *
+ * Pre-condition:
+ * - random must not be null.
+ *
+ * Post-condition:
+ * - All buffers are allocated up front; playouts allocate nothing.
+ *
+ * @param random The random source; not shared with other threads.
+ */
+    public PlayoutEngine(SplittableRandom random) {
+        this(random, DEFAULT_MAX_PLIES);
+    }
+
+/**
+ * Constructs a playout engine.
+ *
+ * Pre-condition:
+ * - random must not be null and maxPlies must be positive.
+ *
+ * Post-condition:
+ * - All buffers are allocated up front; playouts allocate nothing.
+ *
+ * @param random The random source; not shared with other threads.
+ * @param maxPlies The ply limit after which a playout is a draw.
+ */
+    public PlayoutEngine(SplittableRandom random, int maxPlies) {
+        this.position = new BitBoard();
+        this.moves = new int[MoveGenerator.MAX_MOVES];
+        this.weights = new int[MoveGenerator.MAX_MOVES];
+        this.random = random;
+        this.maxPlies = maxPlies;
+    }
+
+/**
+ * Plays a game's current position to the end with uniform-random moves.
+ *
+ * Pre-condition:
+ * - The first player must have been determined.
+ *
+ * Post-condition:
+ * - The game is left unchanged.
+ *
+ * @param game The game to play out.
+ * @return The winning side, or EMPTY if the ply limit was reached.
+ */
+    public int playout(Game game) {
+        return playout(game.getBoard().getBitBoard(), false);
+    }
+
+/**
+ * Plays a copy of a position to the end.
+ *
+ * Pre-condition:
+ * - start must not be null.
+ *
+ * Post-condition:
+ * - start is left unchanged.
+ *
+ * @param start The position to play out.
+ * @param weighted true for weighted-random moves, false for uniform.
+ * @return The winning side, or EMPTY if the ply limit was reached.
+ */
+    public int playout(BitBoard start, boolean weighted) {
+        position.copyFrom(start);
+        return run(position, weighted);
+    }
+
+/**
+ * Plays a position to the end in place.
+ *
+ * Pre-condition:
+ * - board must not be shared with another thread.
+ *
+ * Post-condition:
+ * - board holds the final position of the playout.
+ * - A side left with no legal move loses.
+ *
+ * @param board The position to play out.
+ * @param weighted true for weighted-random moves, false for uniform.
+ * @return The winning side, or EMPTY if the ply limit was reached.
+ */
+    public int run(BitBoard board, boolean weighted) {
+        for (int ply = 0; ply < maxPlies; ply++) {
+            if (board.isGameOver()) {
+                lastLength = ply;
+                return board.getWinner();
+            }
+            int side = board.getSideToMove();
+            int count = MoveGenerator.generate(board, side, moves, 0);
+            if (count == 0) {
+                lastLength = ply;
+                return side ^ 1;
+            }
+            int move = weighted ? pickWeighted(board, side, count) : moves[random.nextInt(count)];
+            board.makeMove(move);
+        }
+        lastLength = maxPlies;
+        return board.isGameOver() ? board.getWinner() : BitBoard.EMPTY;
+    }
+
+/**
+ * Gets the number of plies played by the last playout.
+ *
+ * @return The playout length.
+ */
+    public int getLastLength() {
+        return lastLength;
+    }
+
+/**
+ * Picks a move with probability proportional to its weight. Entering the
+ * enemy home base is taken at once; winning captures weigh more by the
+ * victim's value, moves toward the enemy home base a little more, and
+ * attacks the attacker loses much less.
+ *
+ * @param board The position.
+ * @param side The side to move.
+ * @param count The number of legal moves in the buffer.
+ * @return The chosen move.
+ */
+    private int pickWeighted(BitBoard board, int side, int count) {
+        long enemyDen = BitBoard.denOf(side ^ 1);
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int from = Move.from(move);
+            int to = Move.to(move);
+            if ((enemyDen & BitBoard.bit(to)) != 0) {
+                return move;
+            }
+            int weight = BASE_WEIGHT;
+            if (Move.isCapture(move)) {
+                int attacker = board.pieceAt(from);
+                int defender = board.pieceAt(to);
+                if (CaptureTable.resolve(attacker, from, defender, to) == CaptureTable.ATTACKER_WINS) {
+                    weight += PieceSquareTable.material(BitBoard.animalOf(defender)) / CAPTURE_WEIGHT_DIVISOR;
+                } else {
+                    weight = SUICIDE_WEIGHT;
+                }
+            } else if (DISTANCE[side][to] < DISTANCE[side][from]) {
+                weight += ADVANCE_WEIGHT;
+            }
+            total += weight;
+            weights[i] = total;
+        }
+
+        int pick = random.nextInt(total);
+        int i = 0;
+        while (weights[i] <= pick) {
+            i++;
+        }
+        return moves[i];
+    }
+}
@@ -0,0 +1,259 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TranspositionTable {
+    // Bound types
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    // Returned by probe when the position is not stored
+    public static final long MISS = 0L;
+
+    // Data layout: move (0-15), score (16-31, signed), depth (32-39), bound (40-41)
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+
+    // Each entry is two longs: key ^ data, then data. Buckets hold two entries:
+    // the first is replaced by deeper searches, the second always.
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int ENTRIES_PER_BUCKET = 2;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_ENTRY * ENTRIES_PER_BUCKET * Long.BYTES;
+
+    private final long[] table;
+    private final int bucketMask;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+/**
+ * Constructs a table using at most the given number of megabytes.
+ *
+ * Pre-condition:
+ * - megabytes must be at least 1.
+ *
+ * Post-condition:
+ * - The table is preallocated with a power-of-two number of buckets.
+ *
+ * @param megabytes The memory budget in MB.
+ */
+    public TranspositionTable(int megabytes) {
+        long budget = (long) megabytes * 1024 * 1024;
+        long buckets = Long.highestOneBit(Math.max(1, budget / BYTES_PER_BUCKET));
+        buckets = Math.min(buckets, 1L << 28);
+        this.table = new long[(int) (buckets * LONGS_PER_ENTRY * ENTRIES_PER_BUCKET)];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+/**
+ * Looks up a position.
+ *
+ * Pre-condition:
+ * - None. Safe to call from several threads at once.
+ *
+ * Post-condition:
+ * - Returns the stored data word, or MISS if the position is absent or
+ *   its entry was torn by a concurrent write.
+ *
+ * @param key The position's Zobrist key.
+ * @return The packed entry data, or MISS.
+ */
+    public long probe(long key) {
+        probes.increment();
+        int base = bucketIndex(key);
+        for (int i = 0; i < ENTRIES_PER_BUCKET; i++) {
+            int slot = base + i * LONGS_PER_ENTRY;
+            long data = table[slot + 1];
+            if ((table[slot] ^ data) == key && data != MISS) {
+                hits.increment();
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+/**
+ * Stores a search result.
+ *
+ * Pre-condition:
+ * - bound must be EXACT, LOWER or UPPER.
+ * - score must fit in a signed 16-bit value and depth in 0..255.
+ *
+ * Post-condition:
+ * - The entry is written lock-free; readers detect torn entries by the
+ *   XOR key check.
+ * - A bucket never holds the same position twice: an entry already
+ *   storing key is overwritten wherever it is.
+ *
+ * @param key The position's Zobrist key.
+ * @param move The best move found, or 0.
+ * @param score The search score.
+ * @param depth The remaining search depth.
+ * @param bound The bound type of the score.
+ */
+    public void store(long key, int move, int score, int depth, int bound) {
+        stores.increment();
+        long data = pack(move, score, depth, bound);
+        int base = bucketIndex(key);
+
+        // An entry already holding this position is updated in place
+        int slot = -1;
+        for (int i = 0; i < ENTRIES_PER_BUCKET; i++) {
+            int candidate = base + i * LONGS_PER_ENTRY;
+            long oldData = table[candidate + 1];
+            if (oldData != MISS && (table[candidate] ^ oldData) == key) {
+                slot = candidate;
+                break;
+            }
+        }
+        if (slot < 0) {
+            slot = base;
+            long oldData = table[slot + 1];
+            if (oldData != MISS && depth < depth(oldData)) {
+                // Keep the deeper entry and use the always-replace slot
+                slot += LONGS_PER_ENTRY;
+                oldData = table[slot + 1];
+            }
+            if (oldData != MISS) {
+                collisions.increment();
+            }
+        }
+
+        table[slot] = key ^ data;
+        table[slot + 1] = data;
+    }
+
+/**
+ * Empties the table and resets its counters.
+ *
+ * Pre-condition:
+ * - No search may be using the table.
+ *
+ * Post-condition:
+ * - Every probe misses until new entries are stored.
+ */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        probes.reset();
+        hits.reset();
+        stores.reset();
+        collisions.reset();
+    }
+
+/**
+ * Gets the best move of an entry.
+ *
+ * @param data The packed entry data.
+ * @return The encoded move, or 0.
+ */
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+/**
+ * Gets the score of an entry.
+ *
+ * @param data The packed entry data.
+ * @return The stored score.
+ */
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+/**
+ * Gets the depth of an entry.
+ *
+ * @param data The packed entry data.
+ * @return The stored depth.
+ */
+    public static int depth(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+/**
+ * Gets the bound type of an entry.
+ *
+ * @param data The packed entry data.
+ * @return EXACT, LOWER or UPPER.
+ */
+    public static int bound(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 3);
+    }
+
+/**
+ * Gets the number of probes since the last clear.
+ *
+ * @return The probe count.
+ */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+/**
+ * Gets the number of probes that found their position.
+ *
+ * @return The hit count.
+ */
+    public long getHits() {
+        return hits.sum();
+    }
+
+/**
+ * Gets the number of stores since the last clear.
+ *
+ * @return The store count.
+ */
+    public long getStores() {
+        return stores.sum();
+    }
+
+/**
+ * Gets the number of stores that overwrote a different position.
+ *
+ * @return The collision count.
+ */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+/**
+ * Gets the table size in bytes.
+ *
+ * @return The memory used by the entries.
+ */
+    public long getSizeBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+/**
+ * Packs entry fields into one data word. The bound is never zero, so a
+ * stored entry is never equal to MISS.
+ *
+ * @param move The encoded move.
+ * @param score The search score.
+ * @param depth The remaining depth.
+ * @param bound The bound type.
+ * @return The packed data word.
+ */
+    private static long pack(int move, int score, int depth, int bound) {
+        return (move & 0xFFFFL)
+            | ((score & 0xFFFFL) << SCORE_SHIFT)
+            | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+            | ((long) bound << BOUND_SHIFT);
+    }
+
+/**
+ * Gets the first long of a key's bucket.
+ *
+ * @param key The position's Zobrist key.
+ * @return The index of the bucket's first long in the table.
+ */
+    private int bucketIndex(long key) {
+        return ((int) (key ^ (key >>> 32)) & bucketMask) * LONGS_PER_ENTRY * ENTRIES_PER_BUCKET;
+    }
+}
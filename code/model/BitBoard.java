@@ -0,0 +1,582 @@
+package model;
+
+import model.pieces.Piece;
+import model.tiles.Tile;
+import java.util.Arrays;
+
+public class BitBoard {
+    public static final int SQUARES = 63;
+
+    // Sides
+    public static final int BLUE = 0;
+    public static final int GREEN = 1;
+
+    // Animals, indexed by strength - 1
+    public static final int RAT = 0;
+    public static final int CAT = 1;
+    public static final int DOG = 2;
+    public static final int WOLF = 3;
+    public static final int LEOPARD = 4;
+    public static final int TIGER = 5;
+    public static final int LION = 6;
+    public static final int ELEPHANT = 7;
+    public static final int ANIMALS = 8;
+
+    public static final int EMPTY = -1;
+
+    // Undo record layout: move (0-13), removed piece code + 1 (14-18),
+    // removed piece was the attacker (19), previous side (20), previous winner + 1 (21-22)
+    private static final int UNDO_REMOVED_SHIFT = 14;
+    private static final int UNDO_ATTACKER_LOST = 1 << 19;
+    private static final int UNDO_SIDE_SHIFT = 20;
+    private static final int UNDO_WINNER_SHIFT = 21;
+    private static final int INITIAL_UNDO_CAPACITY = 256;
+
+    // Terrain masks (bit index = row * 9 + col)
+    public static final long BOARD_MASK = (1L << SQUARES) - 1;
+    public static final long LAKE_MASK = maskOf(Board.LAKE_POSITIONS);
+    public static final long BLUE_TRAP_MASK = maskOf(Board.BLUE_TRAPS);
+    public static final long GREEN_TRAP_MASK = maskOf(Board.GREEN_TRAPS);
+    public static final long BLUE_DEN_MASK = bit(square(Board.BLUE_HOME[0], Board.BLUE_HOME[1]));
+    public static final long GREEN_DEN_MASK = bit(square(Board.GREEN_HOME[0], Board.GREEN_HOME[1]));
+
+    private final long[] pieces;
+    private final long[] occupancy;
+    private final byte[] mailbox;
+    private int sideToMove;
+    private int winner;
+    private long key;
+    private int score;
+    private int[] undo;
+    private int ply;
+
+/**
+ * Constructs an empty BitBoard with no pieces placed.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - All occupancy masks are zero and every square is empty.
+ */
+    public BitBoard() {
+        this.pieces = new long[2 * ANIMALS];
+        this.occupancy = new long[2];
+        this.mailbox = new byte[SQUARES];
+        this.undo = new int[INITIAL_UNDO_CAPACITY];
+        clear();
+    }
+
+/**
+ * Removes every piece from the bitboard.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - All occupancy masks are zero and every square is empty.
+ * - Blue is to move, there is no winner and the undo stack is empty.
+ */
+    public void clear() {
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = 0L;
+        }
+        occupancy[BLUE] = 0L;
+        occupancy[GREEN] = 0L;
+        for (int sq = 0; sq < SQUARES; sq++) {
+            mailbox[sq] = EMPTY;
+        }
+        sideToMove = BLUE;
+        winner = EMPTY;
+        key = 0L;
+        score = 0;
+        ply = 0;
+    }
+
+/**
+ * Rebuilds the bitboard from the pieces currently standing on a Board.
+ *
+ * Pre-condition:
+ * - board must not be null.
+ *
+ * Post-condition:
+ * - The bitboard holds exactly the pieces found on the board's tiles.
+ *
+ * @param board The Board to read pieces from.
+ */
+    public void load(Board board) {
+        clear();
+        for (int row = 0; row < Board.getRows(); row++) {
+            for (int col = 0; col < Board.getCols(); col++) {
+                Tile tile = board.getTile(row, col);
+                if (tile.isOccupied()) {
+                    put(codeOf(tile.getCurrPiece()), square(row, col));
+                }
+            }
+        }
+    }
+
+/**
+ * Copies all occupancy from another bitboard into this one.
+ *
+ * Pre-condition:
+ * - other must not be null.
+ *
+ * Post-condition:
+ * - This bitboard holds the same pieces, side to move and winner as other.
+ * - The undo stack is emptied.
+ *
+ * @param other The bitboard to copy from.
+ */
+    public void copyFrom(BitBoard other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+        System.arraycopy(other.occupancy, 0, occupancy, 0, occupancy.length);
+        System.arraycopy(other.mailbox, 0, mailbox, 0, mailbox.length);
+        sideToMove = other.sideToMove;
+        winner = other.winner;
+        key = other.key;
+        score = other.score;
+        ply = 0;
+    }
+
+/**
+ * Plays a full turn: moves the piece, resolves any capture, checks the
+ * win condition and hands the turn to the other side.
+ *
+ * Pre-condition:
+ * - move must be legal for the side to move (see MoveGenerator).
+ *
+ * Post-condition:
+ * - The position reflects the move exactly as Game.movePiece followed by
+ *   Game.switchTurn would leave it.
+ * - An undo record is pushed so unmakeMove can restore the position.
+ *
+ * @param move The encoded move.
+ */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int attacker = mailbox[from];
+        int record = (move & 0x3FFF)
+            | (sideToMove << UNDO_SIDE_SHIFT)
+            | ((winner + 1) << UNDO_WINNER_SHIFT);
+
+        int defender = mailbox[to];
+        if (defender != EMPTY) {
+            if (CaptureTable.resolve(attacker, from, defender, to) == CaptureTable.ATTACKER_WINS) {
+                remove(to);
+                record |= (defender + 1) << UNDO_REMOVED_SHIFT;
+            } else {
+                // Attacker dies and the turn passes without a win check
+                remove(from);
+                record |= ((attacker + 1) << UNDO_REMOVED_SHIFT) | UNDO_ATTACKER_LOST;
+                pushUndo(record);
+                passTurn();
+                return;
+            }
+        }
+
+        move(from, to);
+        pushUndo(record);
+
+        if ((denOf(sideToMove ^ 1) & bit(to)) != 0) {
+            winner = sideToMove;
+            return;
+        }
+        passTurn();
+    }
+
+/**
+ * Takes back the last move played with makeMove.
+ *
+ * Pre-condition:
+ * - At least one move must have been made since the last load or copy.
+ *
+ * Post-condition:
+ * - Pieces, side to move and winner are exactly as before that move.
+ */
+    public void unmakeMove() {
+        int record = undo[--ply];
+        int from = Move.from(record);
+        int to = Move.to(record);
+        int removed = ((record >>> UNDO_REMOVED_SHIFT) & 0x1F) - 1;
+
+        if ((record & UNDO_ATTACKER_LOST) != 0) {
+            put(removed, from);
+        } else {
+            move(to, from);
+            if (removed != EMPTY) {
+                put(removed, to);
+            }
+        }
+        setSideToMove((record >>> UNDO_SIDE_SHIFT) & 1);
+        winner = ((record >>> UNDO_WINNER_SHIFT) & 3) - 1;
+    }
+
+/**
+ * Gets the move on top of the undo stack.
+ *
+ * Pre-condition:
+ * - At least one move must have been made.
+ *
+ * @return The last move made, without its undo bookkeeping.
+ */
+    public int lastMove() {
+        return undo[ply - 1] & 0x3FFF;
+    }
+
+/**
+ * Hands the turn to the other side unless it has no pieces left, in
+ * which case its turn is forfeited as in Game.switchTurn.
+ */
+    private void passTurn() {
+        if (occupancy[sideToMove ^ 1] != 0) {
+            setSideToMove(sideToMove ^ 1);
+        }
+    }
+
+/**
+ * Pushes an undo record, growing the stack if needed.
+ *
+ * @param record The packed undo record.
+ */
+    private void pushUndo(int record) {
+        if (ply == undo.length) {
+            undo = Arrays.copyOf(undo, undo.length * 2);
+        }
+        undo[ply++] = record;
+    }
+
+/**
+ * Gets the evaluation score, kept up to date by put, remove and move.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Returns the same value as PieceSquareTable.scoreOf(this), in constant time.
+ *
+ * @return The score, positive when Blue is ahead.
+ */
+    public int getScore() {
+        return score;
+    }
+
+/**
+ * Gets the side whose turn it is.
+ *
+ * @return BLUE or GREEN.
+ */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+/**
+ * Sets the side whose turn it is.
+ *
+ * @param side BLUE or GREEN.
+ */
+    public void setSideToMove(int side) {
+        key ^= Zobrist.side(sideToMove) ^ Zobrist.side(side);
+        this.sideToMove = side;
+    }
+
+/**
+ * Gets the Zobrist key of the position (pieces and side to move).
+ *
+ * @return The 64-bit position key.
+ */
+    public long getKey() {
+        return key;
+    }
+
+/**
+ * Gets the side that has entered the opponent's home base.
+ *
+ * @return BLUE, GREEN, or EMPTY while the game is running.
+ */
+    public int getWinner() {
+        return winner;
+    }
+
+/**
+ * Sets the winning side.
+ *
+ * @param winner BLUE, GREEN, or EMPTY.
+ */
+    public void setWinner(int winner) {
+        this.winner = winner;
+    }
+
+/**
+ * Checks whether a side has won.
+ *
+ * @return true if the game is over.
+ */
+    public boolean isGameOver() {
+        return winner != EMPTY;
+    }
+
+/**
+ * Gets the number of moves on the undo stack.
+ *
+ * @return The current search ply.
+ */
+    public int getPly() {
+        return ply;
+    }
+
+/**
+ * Places a piece on an empty square.
+ *
+ * Pre-condition:
+ * - code must be a valid piece code and sq must be empty.
+ *
+ * Post-condition:
+ * - The piece's side, animal and mailbox entries include sq.
+ *
+ * @param code The piece code (side * 8 + animal).
+ * @param sq The square index.
+ */
+    public void put(int code, int sq) {
+        long b = bit(sq);
+        pieces[code] |= b;
+        occupancy[code >>> 3] |= b;
+        mailbox[sq] = (byte) code;
+        key ^= Zobrist.piece(code, sq);
+        score += PieceSquareTable.value(code, sq);
+    }
+
+/**
+ * Removes whatever piece stands on a square.
+ *
+ * Pre-condition:
+ * - sq must be a valid square index.
+ *
+ * Post-condition:
+ * - sq is empty.
+ *
+ * @param sq The square index.
+ * @return The code of the removed piece, or EMPTY.
+ */
+    public int remove(int sq) {
+        int code = mailbox[sq];
+        if (code != EMPTY) {
+            long b = ~bit(sq);
+            pieces[code] &= b;
+            occupancy[code >>> 3] &= b;
+            mailbox[sq] = EMPTY;
+            key ^= Zobrist.piece(code, sq);
+            score -= PieceSquareTable.value(code, sq);
+        }
+        return code;
+    }
+
+/**
+ * Moves a piece from one square to an empty square.
+ *
+ * Pre-condition:
+ * - from must be occupied and to must be empty.
+ *
+ * Post-condition:
+ * - The piece now stands on to and from is empty.
+ *
+ * @param from The origin square.
+ * @param to The destination square.
+ */
+    public void move(int from, int to) {
+        int code = mailbox[from];
+        long b = bit(from) | bit(to);
+        pieces[code] ^= b;
+        occupancy[code >>> 3] ^= b;
+        mailbox[from] = EMPTY;
+        mailbox[to] = (byte) code;
+        key ^= Zobrist.piece(code, from) ^ Zobrist.piece(code, to);
+        score += PieceSquareTable.value(code, to) - PieceSquareTable.value(code, from);
+    }
+
+/**
+ * Gets the piece code standing on a square.
+ *
+ * @param sq The square index.
+ * @return The piece code, or EMPTY.
+ */
+    public int pieceAt(int sq) {
+        return mailbox[sq];
+    }
+
+/**
+ * Gets the occupancy of one animal of one side.
+ *
+ * @param side BLUE or GREEN.
+ * @param animal The animal index.
+ * @return Bitmask of squares holding that piece.
+ */
+    public long getPieces(int side, int animal) {
+        return pieces[code(side, animal)];
+    }
+
+/**
+ * Gets every square occupied by a side.
+ *
+ * @param side BLUE or GREEN.
+ * @return Bitmask of that side's pieces.
+ */
+    public long getOccupancy(int side) {
+        return occupancy[side];
+    }
+
+/**
+ * Gets every occupied square.
+ *
+ * @return Bitmask of all pieces on the board.
+ */
+    public long getAllOccupancy() {
+        return occupancy[BLUE] | occupancy[GREEN];
+    }
+
+/**
+ * Gets the squares holding a Rat of either side.
+ *
+ * @return Bitmask of both rats.
+ */
+    public long getRats() {
+        return pieces[RAT] | pieces[ANIMALS + RAT];
+    }
+
+/**
+ * Converts a row and column into a square index.
+ *
+ * @param row The row index.
+ * @param col The column index.
+ * @return The square index (row * 9 + col).
+ */
+    public static int square(int row, int col) {
+        return row * Board.getCols() + col;
+    }
+
+/**
+ * Converts a Tile into a square index.
+ *
+ * @param tile The tile.
+ * @return The square index of the tile.
+ */
+    public static int square(Tile tile) {
+        return square(tile.getRow(), tile.getCol());
+    }
+
+/**
+ * Gets the row of a square index.
+ *
+ * @param sq The square index.
+ * @return The row index.
+ */
+    public static int rowOf(int sq) {
+        return sq / Board.getCols();
+    }
+
+/**
+ * Gets the column of a square index.
+ *
+ * @param sq The square index.
+ * @return The column index.
+ */
+    public static int colOf(int sq) {
+        return sq % Board.getCols();
+    }
+
+/**
+ * Gets the single-bit mask of a square.
+ *
+ * @param sq The square index.
+ * @return A long with only bit sq set.
+ */
+    public static long bit(int sq) {
+        return 1L << sq;
+    }
+
+/**
+ * Builds the piece code for a side and animal.
+ *
+ * @param side BLUE or GREEN.
+ * @param animal The animal index.
+ * @return The piece code (side * 8 + animal).
+ */
+    public static int code(int side, int animal) {
+        return (side << 3) | animal;
+    }
+
+/**
+ * Gets the side of a piece code.
+ *
+ * @param code The piece code.
+ * @return BLUE or GREEN.
+ */
+    public static int sideOf(int code) {
+        return code >>> 3;
+    }
+
+/**
+ * Gets the animal of a piece code.
+ *
+ * @param code The piece code.
+ * @return The animal index.
+ */
+    public static int animalOf(int code) {
+        return code & 7;
+    }
+
+/**
+ * Gets the side index for a player name.
+ *
+ * @param owner "Blue" or "Green".
+ * @return BLUE or GREEN.
+ */
+    public static int sideOf(String owner) {
+        return owner.equals("Blue") ? BLUE : GREEN;
+    }
+
+/**
+ * Gets the piece code of a Piece object.
+ *
+ * @param piece The piece.
+ * @return The piece code.
+ */
+    public static int codeOf(Piece piece) {
+        return piece.getCode();
+    }
+
+/**
+ * Gets the trap squares owned by a side.
+ *
+ * @param side BLUE or GREEN.
+ * @return Bitmask of that side's traps.
+ */
+    public static long trapsOf(int side) {
+        return side == BLUE ? BLUE_TRAP_MASK : GREEN_TRAP_MASK;
+    }
+
+/**
+ * Gets the home base square mask of a side.
+ *
+ * @param side BLUE or GREEN.
+ * @return Bitmask of that side's home base.
+ */
+    public static long denOf(int side) {
+        return side == BLUE ? BLUE_DEN_MASK : GREEN_DEN_MASK;
+    }
+
+/**
+ * Builds a mask from a list of {row, col} positions.
+ *
+ * @param positions The positions to set.
+ * @return Bitmask with every position set.
+ */
+    private static long maskOf(int[][] positions) {
+        long mask = 0L;
+        for (int[] pos : positions) {
+            mask |= bit(square(pos[0], pos[1]));
+        }
+        return mask;
+    }
+}
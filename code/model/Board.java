@@ -8,18 +8,19 @@ import java.util.List;
 
 public class Board {
     private Tile[][] tiles;
+    private BitBoard bitBoard;
     private static final int ROWS = 7;
     private static final int COLS = 9;
 
     // Positions for special tiles
-    private static final int[][] LAKE_POSITIONS = {
+    static final int[][] LAKE_POSITIONS = {
         {1,3}, {1,4}, {1,5}, {2,3}, {2,4}, {2,5},
         {4,3}, {4,4}, {4,5}, {5,3}, {5,4}, {5,5}
     };
-    private static final int[][] BLUE_TRAPS = {{2,0}, {4,0}, {3,1}};
-    private static final int[][] GREEN_TRAPS = {{2,8}, {4,8}, {3,7}};
-    private static final int[] BLUE_HOME = {3,0};
-    private static final int[] GREEN_HOME = {3,8};
+    static final int[][] BLUE_TRAPS = {{2,0}, {4,0}, {3,1}};
+    static final int[][] GREEN_TRAPS = {{2,8}, {4,8}, {3,7}};
+    static final int[] BLUE_HOME = {3,0};
+    static final int[] GREEN_HOME = {3,8};
 
 /**
  * Constructs a new Board and initializes all tiles including land, lake, traps, and home bases.
@@ -32,6 +33,7 @@ public class Board {
  */
     public Board() {
         tiles = new Tile[ROWS][COLS];
+        bitBoard = new BitBoard();
         initializeBoard();
     }
 /**
@@ -41,7 +43,8 @@ public class Board {
  * - The 2D Tile array must be instantiated.
  *
  * Post-condition:
- * - Each tile in the board is assigned the correct type and team color (if applicable).
+ * - Each tile in the board has the correct terrain code and team color (if applicable).
+ * - Each tile is linked back to this board.
  * - Trap, Lake, HomeBase, and Land tiles are placed appropriately.
  */
     private void initializeBoard() {
@@ -71,19 +74,10 @@ public class Board {
         tiles[BLUE_HOME[0]][BLUE_HOME[1]] = new HomeBase(BLUE_HOME[0], BLUE_HOME[1], "Blue");
         tiles[GREEN_HOME[0]][GREEN_HOME[1]] = new HomeBase(GREEN_HOME[0], GREEN_HOME[1], "Green");
 
-        // Store the tile types
+        // Link the tiles back to this board; each tile knows its own terrain code
         for (int row = 0; row < ROWS; row++) {
             for (int col = 0; col < COLS; col++) {
-                Tile tile = tiles[row][col];
-                if (tile instanceof Trap) {
-                    ((Trap) tile).setType("Trap");
-                } else if (tile instanceof HomeBase) {
-                    ((HomeBase) tile).setType("HomeBase");
-                } else if (tile instanceof Lake) {
-                    tile.setType("Lake");
-                } else {
-                    tile.setType("Land");
-                }
+                tiles[row][col].setBoard(this);
             }
         }
     }
@@ -107,6 +101,21 @@ public class Board {
         }
         return null;
     }
+/**
+ * Gets the bitboard mirror of this board's pieces.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Returns the BitBoard kept in sync with the tiles by Game.
+ *
+ * @return The board's BitBoard.
+ */
+    public BitBoard getBitBoard() {
+        return bitBoard;
+    }
+
 /**
  * Gets the total number of rows on the board.
  *
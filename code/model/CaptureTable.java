@@ -0,0 +1,130 @@
+package model;
+
+public final class CaptureTable {
+    // Outcomes
+    public static final byte DEFENDER_WINS = 0;
+    public static final byte ATTACKER_WINS = 1;
+    public static final byte ILLEGAL = 2;
+
+    // Terrain of a square as seen from one side
+    public static final int LAND = 0;
+    public static final int LAKE = 1;
+    public static final int OWN_TRAP = 2;
+    public static final int ENEMY_TRAP = 3;
+    public static final int OWN_DEN = 4;
+    public static final int ENEMY_DEN = 5;
+    public static final int TERRAINS = 6;
+
+    // TERRAIN[side][sq] is the terrain of sq relative to side
+    private static final byte[][] TERRAIN = new byte[2][BitBoard.SQUARES];
+
+    // OUTCOME[((attacker * 8 + defender) * 6 + attackerTerrain) * 6 + defenderTerrain]
+    private static final byte[] OUTCOME =
+        new byte[BitBoard.ANIMALS * BitBoard.ANIMALS * TERRAINS * TERRAINS];
+
+    static {
+        for (int side = BitBoard.BLUE; side <= BitBoard.GREEN; side++) {
+            for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+                TERRAIN[side][sq] = (byte) classify(side, BitBoard.bit(sq));
+            }
+        }
+        for (int attacker = 0; attacker < BitBoard.ANIMALS; attacker++) {
+            for (int defender = 0; defender < BitBoard.ANIMALS; defender++) {
+                for (int from = 0; from < TERRAINS; from++) {
+                    for (int to = 0; to < TERRAINS; to++) {
+                        OUTCOME[index(attacker, defender, from, to)] = decide(attacker, defender, from, to);
+                    }
+                }
+            }
+        }
+    }
+
+    private CaptureTable() {
+    }
+
+/**
+ * Resolves an attack between two enemy pieces.
+ *
+ * Pre-condition:
+ * - attacker and defender are piece codes of different sides.
+ *
+ * Post-condition:
+ * - Returns ATTACKER_WINS, DEFENDER_WINS (the attacker dies) or ILLEGAL
+ *   if Game.validateMove would reject the attack.
+ *
+ * @param attacker The attacking piece code.
+ * @param from The attacker's square.
+ * @param defender The defending piece code.
+ * @param to The defender's square.
+ * @return The outcome.
+ */
+    public static int resolve(int attacker, int from, int defender, int to) {
+        byte[] terrain = TERRAIN[BitBoard.sideOf(attacker)];
+        return OUTCOME[index(BitBoard.animalOf(attacker), BitBoard.animalOf(defender), terrain[from], terrain[to])];
+    }
+
+/**
+ * Looks up an attack by animal and terrain.
+ *
+ * @param attacker The attacking animal index.
+ * @param defender The defending animal index.
+ * @param attackerTerrain The attacker's terrain, relative to the attacker.
+ * @param defenderTerrain The defender's terrain, relative to the attacker.
+ * @return The outcome.
+ */
+    public static int outcome(int attacker, int defender, int attackerTerrain, int defenderTerrain) {
+        return OUTCOME[index(attacker, defender, attackerTerrain, defenderTerrain)];
+    }
+
+/**
+ * Gets the terrain of a square as seen from a side.
+ *
+ * @param side BLUE or GREEN.
+ * @param sq The square index.
+ * @return LAND, LAKE, OWN_TRAP, ENEMY_TRAP, OWN_DEN or ENEMY_DEN.
+ */
+    public static int terrainOf(int side, int sq) {
+        return TERRAIN[side][sq];
+    }
+
+    private static int index(int attacker, int defender, int attackerTerrain, int defenderTerrain) {
+        return ((attacker * BitBoard.ANIMALS + defender) * TERRAINS + attackerTerrain) * TERRAINS + defenderTerrain;
+    }
+
+    private static int classify(int side, long bit) {
+        if ((BitBoard.LAKE_MASK & bit) != 0) return LAKE;
+        if ((BitBoard.trapsOf(side) & bit) != 0) return OWN_TRAP;
+        if ((BitBoard.trapsOf(side ^ 1) & bit) != 0) return ENEMY_TRAP;
+        if ((BitBoard.denOf(side) & bit) != 0) return OWN_DEN;
+        if ((BitBoard.denOf(side ^ 1) & bit) != 0) return ENEMY_DEN;
+        return LAND;
+    }
+
+/**
+ * Decides one table entry the way Game.validateMove and the pieces'
+ * canCapture methods do.
+ */
+    private static byte decide(int attacker, int defender, int attackerTerrain, int defenderTerrain) {
+        // No piece can stand on its own home base, and entering the enemy's ends the game
+        if (attackerTerrain >= OWN_DEN || defenderTerrain >= OWN_DEN) return ILLEGAL;
+
+        // Only rats swim, and only a rat can attack into the lake
+        if (attackerTerrain == LAKE && attacker != BitBoard.RAT) return ILLEGAL;
+        if (defenderTerrain == LAKE && (defender != BitBoard.RAT || attacker != BitBoard.RAT)) return ILLEGAL;
+
+        // A rat in the lake may only attack the other rat in the lake
+        if (attackerTerrain == LAKE) {
+            return defenderTerrain == LAKE ? ATTACKER_WINS : ILLEGAL;
+        }
+
+        // A rat on land takes an Elephant standing on plain land
+        if (attacker == BitBoard.RAT && defender == BitBoard.ELEPHANT && defenderTerrain == LAND) {
+            return ATTACKER_WINS;
+        }
+
+        // A defender in the attacker's trap loses its strength
+        if (defenderTerrain == OWN_TRAP) return ATTACKER_WINS;
+
+        return attacker >= defender ? ATTACKER_WINS : DEFENDER_WINS;
+    }
+}
@@ -6,14 +6,17 @@ import model.tiles.*;
 import model.interfaces.*;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 public class Game {
-    private static Board board;
+    private Board board;
     private Player player1;
     private Player player2;
     private Player currentPlayer;
     private GameState gameState;
+    private Piece[] removedPieces;
+    private MoveListener moveListener;
 
 /**
  * Constructs a new Game with two players, a board, game state, and initializes all pieces.
@@ -25,10 +28,11 @@ public class Game {
  * - Game setup is complete with board and both players having their pieces placed.
  */
     public Game() {
-        board = new Board();
+        this.board = new Board();
         this.player1 = new Player("Blue");
         this.player2 = new Player("Green");
         this.gameState = new GameState();
+        this.removedPieces = new Piece[64];
         initializePieces();
     }
     
@@ -91,6 +95,8 @@ public class Game {
         
         Rat greenRat = new Rat(board.getTile(0, 6), "Green");
         player2.addPiece(greenRat);
+
+        board.getBitBoard().load(board);
     }
 
 /**
@@ -105,6 +111,23 @@ public class Game {
  * @return A shuffled List of piece names.
  */
     public List<String> getShuffledPieces() {
+        return getShuffledPieces(new Random());
+    }
+
+/**
+ * Returns the piece names shuffled with the given random source, so a
+ * seeded source always gives the same order.
+ *
+ * Pre-condition:
+ * - rand must not be null.
+ *
+ * Post-condition:
+ * - Returns a list containing all 8 animal types in random order.
+ *
+ * @param rand The random source used to shuffle.
+ * @return A shuffled List of piece names.
+ */
+    public List<String> getShuffledPieces(Random rand) {
         List<String> pieces = new ArrayList<>();
         pieces.add("Elephant");
         pieces.add("Lion");
@@ -115,7 +138,6 @@ public class Game {
         pieces.add("Cat");
         pieces.add("Rat");
         
-        Random rand = new Random();
         for (int i = pieces.size() - 1; i > 0; i--) {
             int j = rand.nextInt(i + 1);
             String temp = pieces.get(i);
@@ -147,6 +169,7 @@ public class Game {
     } else {
         currentPlayer = player2;
     }
+        board.getBitBoard().setSideToMove(BitBoard.sideOf(currentPlayer.getName()));
         return currentPlayer;
     }
 
@@ -154,7 +177,7 @@ public class Game {
  * Returns the strength value of a given piece name.
  *
  * Pre-condition:
- * - pieceName must match a valid animal name (case-sensitive).
+ * - pieceName should be a valid animal name (case is ignored).
  *
  * Post-condition:
  * - Returns an integer from 1 to 8 representing the piece's strength.
@@ -164,17 +187,7 @@ public class Game {
  * @return The strength value of the piece.
  */
     private int getPieceStrength(String pieceName) {
-        switch (pieceName) {
-            case "Elephant": return 8;
-            case "Lion": return 7;
-            case "Tiger": return 6;
-            case "Leopard": return 5;
-            case "Wolf": return 4;
-            case "Dog": return 3;
-            case "Cat": return 2;
-            case "Rat": return 1;
-            default: return 0;
-        }
+        return Piece.animalOf(pieceName) + 1;
     }
 
 /**
@@ -203,6 +216,24 @@ public class Game {
             currentPlayer = player1;
         }
     }
+        board.getBitBoard().setSideToMove(BitBoard.sideOf(currentPlayer.getName()));
+    }
+
+/**
+ * Ends the game because the current player has pieces left but no legal
+ * move, the same result the search and SelfPlay give such a position.
+ *
+ * Pre-condition:
+ * - The game must not be over; the current player has no legal move.
+ *
+ * Post-condition:
+ * - The game is over and the other player is the winner.
+ */
+    public void forfeit() {
+        Player winner = currentPlayer == player1 ? player2 : player1;
+        gameState.setGameOver(true);
+        gameState.setWinner(winner);
+        board.getBitBoard().setWinner(BitBoard.sideOf(winner.getName()));
     }
 
 /**
@@ -225,67 +256,324 @@ public class Game {
     public boolean movePiece(Piece piece, Tile destination) {
         if (piece == null || destination == null) return false;
         
-        // Get current position
-        Tile currentPos = piece.getPosition();
-        
-        // Check if move is valid
-        if (!piece.canMove(destination)) {
-            // Check specific invalid move cases
-            if (destination instanceof Lake) {
-                throw new RuntimeException(piece.getClass().getSimpleName() + " cannot swim in lakes!");
-            }
-            
-            // For Lions and Tigers attempting to leap
-            if ((piece instanceof Lion || piece instanceof Tiger) && 
-                Math.abs(destination.getRow() - currentPos.getRow()) + 
-                Math.abs(destination.getCol() - currentPos.getCol()) > 1) {
-                throw new RuntimeException(piece.getClass().getSimpleName() + " cannot leap over lake - path is blocked!");
-            }
-            
-            throw new RuntimeException("Invalid move!");
+        MoveResult result = tryMove(piece, destination);
+        if (result != MoveResult.OK) {
+            throw new RuntimeException(result.getMessage(piece.getName()));
         }
+        return true;
+    }
+
+/**
+ * Validates a move once and plays it if it is legal, without throwing.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - If the result is OK the move is played exactly as movePiece plays
+ *   it; otherwise the game is unchanged.
+ *
+ * @param piece The piece to be moved.
+ * @param destination The tile to move the piece to.
+ * @return The validation result.
+ */
+    public MoveResult tryMove(Piece piece, Tile destination) {
+        MoveResult result = validateMove(piece, destination);
+        if (result == MoveResult.OK) {
+            applyMove(piece, destination);
+        }
+        return result;
+    }
+
+/**
+ * Plays a validated move: resolves any capture, checks the win and tells
+ * the move listener.
+ */
+    private void applyMove(Piece piece, Tile destination) {
+        Tile currentPos = piece.getPosition();
 
         // Handle capture
         if (destination.isOccupied()) {
             Piece target = destination.getCurrPiece();
+            BitBoard bits = board.getBitBoard();
+            int fromSq = BitBoard.square(currentPos);
+            int toSq = BitBoard.square(destination);
             
-            // Check for friendly piece
-            if (target.getOwner().equals(piece.getOwner())) {
-                throw new RuntimeException("Cannot capture your own piece!");
-            }
-            
-            if (target.getPosition() instanceof Lake && !(piece instanceof Rat)) { // target is on lake and piece is not a rat
-                throw new RuntimeException("Only rats can capture pieces on the lake!");
-            }
-            
-            if (piece.getPosition() instanceof Lake && piece instanceof Rat) { // piece is a rat and on lake
-                if (!(target instanceof Rat && target.getPosition() instanceof Lake)) { // target is not a rat or not on lake
-                    throw new RuntimeException("Rat in lake can only capture other rats in lake!");
-                }
-            }
-            
-            if (piece.canCapture(target)) {
+            if (CaptureTable.resolve(bits.pieceAt(fromSq), fromSq, bits.pieceAt(toSq), toSq)
+                    == CaptureTable.ATTACKER_WINS) {
                 target.setCaptured(true);
                 destination.setCurrPiece(null);
+                board.getBitBoard().remove(BitBoard.square(destination));
             } else {
                 // Attacker dies
                 piece.setCaptured(true);
                 currentPos.setCurrPiece(null);
-                return true;
+                board.getBitBoard().remove(BitBoard.square(currentPos));
+                notifyMove(fromSq, toSq);
+                return;
             }
         }
 
         currentPos.setCurrPiece(null);
         destination.setCurrPiece(piece);
         piece.setPosition(destination);
+        board.getBitBoard().move(BitBoard.square(currentPos), BitBoard.square(destination));
 
         // Check win condition
         if (checkWinCondition()) {
             gameState.setGameOver(true);
             gameState.setWinner(currentPlayer);
+            board.getBitBoard().setWinner(BitBoard.sideOf(currentPlayer.getName()));
         }
 
-        return true;
+        notifyMove(BitBoard.square(currentPos), BitBoard.square(destination));
+    }
+
+/**
+ * Sets the listener told about every move movePiece accepts.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - listener replaces any previous listener; null removes it.
+ *
+ * @param listener The listener, or null.
+ */
+    public void setMoveListener(MoveListener listener) {
+        this.moveListener = listener;
+    }
+
+/**
+ * Tells the move listener, if any, about an accepted move.
+ *
+ * @param from The square the piece moved from.
+ * @param to The square the piece moved to or attacked.
+ */
+    private void notifyMove(int from, int to) {
+        if (moveListener != null) {
+            moveListener.moveAccepted(from, to);
+        }
+    }
+
+/**
+ * Checks a move without performing it or throwing.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Returns OK if movePiece would accept the move, otherwise the reason
+ *   it would be rejected; tryMove and movePiece check with this method.
+ * - Nothing is allocated and the game is unchanged.
+ *
+ * @param piece The piece to be moved.
+ * @param destination The tile to move the piece to.
+ * @return The validation result.
+ */
+    public MoveResult validateMove(Piece piece, Tile destination) {
+        if (piece == null || destination == null) return MoveResult.NO_PIECE;
+
+        Tile currentPos = piece.getPosition();
+
+        int animal = piece.getAnimal();
+
+        if (!piece.canMove(destination)) {
+            if (destination.getTerrain() == Tile.LAKE) {
+                return MoveResult.ILLEGAL_LAKE;
+            }
+
+            // For Lions and Tigers attempting to leap
+            if ((animal == BitBoard.LION || animal == BitBoard.TIGER) && 
+                Math.abs(destination.getRow() - currentPos.getRow()) + 
+                Math.abs(destination.getCol() - currentPos.getCol()) > 1) {
+                if (LeapTable.canLeap(BitBoard.square(currentPos), BitBoard.square(destination), 0L)) {
+                    return MoveResult.LEAP_BLOCKED_BY_RAT;
+                }
+                return MoveResult.LEAP_INVALID;
+            }
+
+            return MoveResult.INVALID_MOVE;
+        }
+
+        if (destination.isOccupied()) {
+            Piece target = destination.getCurrPiece();
+
+            if (target.getSide() == piece.getSide()) {
+                return MoveResult.OWN_PIECE;
+            }
+
+            boolean targetInLake = target.getPosition().getTerrain() == Tile.LAKE;
+            if (targetInLake && animal != BitBoard.RAT) {
+                return MoveResult.LAKE_TARGET;
+            }
+
+            if (currentPos.getTerrain() == Tile.LAKE && animal == BitBoard.RAT) {
+                if (!(target.getAnimal() == BitBoard.RAT && targetInLake)) {
+                    return MoveResult.RAT_LAKE_CAPTURE_RULE;
+                }
+            }
+        }
+
+        return MoveResult.OK;
+    }
+
+/**
+ * Plays a full turn from an encoded move without validation, including
+ * the capture, the win check and the turn switch.
+ *
+ * Pre-condition:
+ * - move must be legal for the current player (see MoveGenerator).
+ *
+ * Post-condition:
+ * - Tiles, pieces, bitboard, current player and game state reflect the move.
+ * - The move can be taken back with unmakeMove.
+ *
+ * @param move The encoded move.
+ */
+    public void makeMove(int move) {
+        BitBoard bits = board.getBitBoard();
+        int ply = bits.getPly();
+        int fromSq = Move.from(move);
+        int toSq = Move.to(move);
+        Tile from = tileAt(fromSq);
+        Tile to = tileAt(toSq);
+        Piece piece = from.getCurrPiece();
+        Piece target = to.getCurrPiece();
+        boolean attackerLost = target != null
+            && CaptureTable.resolve(bits.pieceAt(fromSq), fromSq, bits.pieceAt(toSq), toSq)
+                != CaptureTable.ATTACKER_WINS;
+
+        bits.makeMove(move);
+
+        if (ply == removedPieces.length) {
+            removedPieces = Arrays.copyOf(removedPieces, ply * 2);
+        }
+        if (attackerLost) {
+            piece.setCaptured(true);
+            from.setCurrPiece(null);
+            removedPieces[ply] = piece;
+        } else {
+            if (target != null) {
+                target.setCaptured(true);
+            }
+            from.setCurrPiece(null);
+            to.setCurrPiece(piece);
+            piece.setPosition(to);
+            removedPieces[ply] = target;
+        }
+        syncTurn();
+    }
+
+/**
+ * Takes back the last move played with makeMove.
+ *
+ * Pre-condition:
+ * - At least one move must have been made with makeMove.
+ *
+ * Post-condition:
+ * - Tiles, pieces, bitboard, current player and game state are exactly
+ *   as before that move.
+ */
+    public void unmakeMove() {
+        BitBoard bits = board.getBitBoard();
+        int ply = bits.getPly() - 1;
+        int move = bits.lastMove();
+        Tile from = tileAt(Move.from(move));
+        Tile to = tileAt(Move.to(move));
+        Piece removed = removedPieces[ply];
+        removedPieces[ply] = null;
+
+        bits.unmakeMove();
+
+        if (removed != null && removed.getPosition() == from) {
+            // Attacker had died on its own square
+            removed.setCaptured(false);
+            from.setCurrPiece(removed);
+        } else {
+            Piece piece = to.getCurrPiece();
+            from.setCurrPiece(piece);
+            piece.setPosition(from);
+            to.setCurrPiece(removed);
+            if (removed != null) {
+                removed.setCaptured(false);
+            }
+        }
+        syncTurn();
+    }
+
+/**
+ * Sets up the game at an arbitrary position, such as one read with
+ * PositionCodec.
+ *
+ * Pre-condition:
+ * - position must hold at most one piece of each animal per side.
+ *
+ * Post-condition:
+ * - Tiles, pieces, bitboard, current player and game state match
+ *   position; pieces missing from it are captured.
+ * - There is no move to take back with unmakeMove.
+ *
+ * @param position The position to set up.
+ */
+    public void setPosition(BitBoard position) {
+        for (int row = 0; row < Board.getRows(); row++) {
+            for (int col = 0; col < Board.getCols(); col++) {
+                board.getTile(row, col).setCurrPiece(null);
+            }
+        }
+        placePieces(player1, position);
+        placePieces(player2, position);
+        board.getBitBoard().copyFrom(position);
+        Arrays.fill(removedPieces, null);
+        syncTurn();
+    }
+
+/**
+ * Puts each of a player's pieces on its square in a position, or marks
+ * it captured if the position does not have it.
+ *
+ * @param player The player whose pieces to place.
+ * @param position The position to read squares from.
+ */
+    private void placePieces(Player player, BitBoard position) {
+        for (Piece piece : player.getAllPieces()) {
+            long bits = position.getPieces(piece.getSide(), piece.getAnimal());
+            if (bits == 0) {
+                piece.setCaptured(true);
+                continue;
+            }
+            Tile tile = tileAt(Long.numberOfTrailingZeros(bits));
+            tile.setCurrPiece(piece);
+            piece.setPosition(tile);
+            piece.setCaptured(false);
+        }
+    }
+
+/**
+ * Copies the side to move and winner from the bitboard into the players
+ * and game state.
+ */
+    private void syncTurn() {
+        BitBoard bits = board.getBitBoard();
+        currentPlayer = bits.getSideToMove() == BitBoard.BLUE ? player1 : player2;
+        if (bits.isGameOver()) {
+            gameState.setGameOver(true);
+            gameState.setWinner(bits.getWinner() == BitBoard.BLUE ? player1 : player2);
+        } else {
+            gameState.setGameOver(false);
+            gameState.setWinner(null);
+        }
+    }
+
+/**
+ * Gets the tile of a square index.
+ *
+ * @param sq The square index.
+ * @return The tile at that square.
+ */
+    private Tile tileAt(int sq) {
+        return board.getTile(BitBoard.rowOf(sq), BitBoard.colOf(sq));
     }
 
 /**
@@ -323,10 +611,26 @@ public class Game {
  *
  * @return The board instance.
  */
-    public static Board getBoard() {
+    public Board getBoard() {
         return board;
     }
 
+/**
+ * Gets the Zobrist key of the current position.
+ *
+ * Pre-condition:
+ * - Game must be initialized.
+ *
+ * Post-condition:
+ * - Returns a 64-bit key of the pieces and side to move, updated
+ *   incrementally by movePiece, switchTurn, makeMove and unmakeMove.
+ *
+ * @return The position key.
+ */
+    public long positionKey() {
+        return board.getBitBoard().getKey();
+    }
+
 /**
  * Returns the current player whose turn it is.
  *
@@ -0,0 +1,98 @@
+package model;
+
+public final class LeapTable {
+    // TARGET[sq][dir] is the landing square of a lake leap, or -1; PATH holds the crossed lake squares
+    private static final int[][] TARGET = new int[BitBoard.SQUARES][4];
+    private static final long[][] PATH = new long[BitBoard.SQUARES][4];
+
+    static {
+        for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+            for (int dir = 0; dir < 4; dir++) {
+                TARGET[sq][dir] = -1;
+                long path = 0L;
+                int next = MoveGenerator.neighbor(sq, dir);
+                while (next >= 0 && (BitBoard.LAKE_MASK & BitBoard.bit(next)) != 0) {
+                    path |= BitBoard.bit(next);
+                    next = MoveGenerator.neighbor(next, dir);
+                }
+                if (path != 0L && next >= 0 && (BitBoard.LAKE_MASK & BitBoard.bit(sq)) == 0) {
+                    TARGET[sq][dir] = next;
+                    PATH[sq][dir] = path;
+                }
+            }
+        }
+    }
+
+    private LeapTable() {
+    }
+
+/**
+ * Gets the landing square of a lake leap.
+ *
+ * Pre-condition:
+ * - sq must be a valid square index and dir in 0..3.
+ *
+ * Post-condition:
+ * - Returns the first land square across the lake, or -1 if no lake
+ *   lies next to sq in that direction.
+ *
+ * @param sq The leaping piece's square.
+ * @param dir The direction index (see MoveGenerator.neighbor).
+ * @return The landing square, or -1.
+ */
+    public static int target(int sq, int dir) {
+        return TARGET[sq][dir];
+    }
+
+/**
+ * Gets the lake squares crossed by a leap.
+ *
+ * @param sq The leaping piece's square.
+ * @param dir The direction index.
+ * @return Bitmask of the crossed lake squares, or 0 if there is no leap.
+ */
+    public static long path(int sq, int dir) {
+        return PATH[sq][dir];
+    }
+
+/**
+ * Checks whether a leap between two squares is open.
+ *
+ * Pre-condition:
+ * - from and to must be valid square indices.
+ *
+ * Post-condition:
+ * - Returns true if to is the landing square of a leap from from and
+ *   no Rat stands on the crossed lake squares.
+ *
+ * @param from The origin square.
+ * @param to The destination square.
+ * @param rats Bitmask of squares holding a Rat.
+ * @return true if the leap is allowed.
+ */
+    public static boolean canLeap(int from, int to, long rats) {
+        int dir = direction(from, to);
+        return dir >= 0 && TARGET[from][dir] == to && (PATH[from][dir] & rats) == 0;
+    }
+
+/**
+ * Gets the direction from one square to another on the same row or column.
+ *
+ * @param from The origin square.
+ * @param to The destination square.
+ * @return The direction index, or -1 if the squares are not in line.
+ */
+    private static int direction(int from, int to) {
+        int fromRow = BitBoard.rowOf(from);
+        int toRow = BitBoard.rowOf(to);
+        if (BitBoard.colOf(from) == BitBoard.colOf(to)) {
+            if (toRow < fromRow) return 0;
+            if (toRow > fromRow) return 1;
+            return -1;
+        }
+        if (fromRow == toRow) {
+            return to < from ? 2 : 3;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,144 @@
+package model;
+
+public final class Move {
+    // Bit layout: from (0-5), to (6-11), capture flag (12), leap flag (13)
+    public static final int NONE = 0;
+    public static final int CAPTURE = 1 << 12;
+    public static final int LEAP = 1 << 13;
+
+    private static final int SQUARE_MASK = 0x3F;
+
+    // Packed one-byte form: animal index (bits 2-4) and direction (bits 0-1)
+    private static final int PACKED_DIR_MASK = 0x3;
+
+    private Move() {
+    }
+
+/**
+ * Packs a move into an int.
+ *
+ * Pre-condition:
+ * - from and to must be valid square indices.
+ *
+ * Post-condition:
+ * - Returns the encoded move.
+ *
+ * @param from The origin square.
+ * @param to The destination square.
+ * @param flags Any combination of CAPTURE and LEAP.
+ * @return The encoded move.
+ */
+    public static int encode(int from, int to, int flags) {
+        return from | (to << 6) | flags;
+    }
+
+/**
+ * Gets the origin square of a move.
+ *
+ * @param move The encoded move.
+ * @return The origin square index.
+ */
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+/**
+ * Gets the destination square of a move.
+ *
+ * @param move The encoded move.
+ * @return The destination square index.
+ */
+    public static int to(int move) {
+        return (move >>> 6) & SQUARE_MASK;
+    }
+
+/**
+ * Checks whether a move lands on an enemy piece.
+ *
+ * @param move The encoded move.
+ * @return true if the destination holds an enemy piece.
+ */
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+/**
+ * Checks whether a move is a Lion or Tiger lake leap.
+ *
+ * @param move The encoded move.
+ * @return true if the move leaps over a lake.
+ */
+    public static boolean isLeap(int move) {
+        return (move & LEAP) != 0;
+    }
+
+/**
+ * Packs a move into one byte. Each side has at most one piece of each
+ * animal, and a Lion or Tiger facing a lake always leaps, so the moving
+ * animal and its direction identify the move in its position.
+ *
+ * Pre-condition:
+ * - move must be legal for the side to move in position.
+ *
+ * Post-condition:
+ * - Returns a value in 0..31; position is unchanged.
+ *
+ * @param position The position the move is played from.
+ * @param move The encoded move.
+ * @return The packed move.
+ */
+    public static int pack(BitBoard position, int move) {
+        int from = from(move);
+        int to = to(move);
+        int dir = 0;
+        while (dir < 3 && (isLeap(move) ? LeapTable.target(from, dir) : MoveGenerator.neighbor(from, dir)) != to) {
+            dir++;
+        }
+        return BitBoard.animalOf(position.pieceAt(from)) << 2 | dir;
+    }
+
+/**
+ * Expands a move packed with pack back into its encoded form.
+ *
+ * Pre-condition:
+ * - packed must come from pack on the same position.
+ *
+ * Post-condition:
+ * - Returns the encoded move with its capture and leap flags; position
+ *   is unchanged.
+ *
+ * @param position The position the move is played from.
+ * @param packed The packed move.
+ * @return The encoded move.
+ */
+    public static int unpack(BitBoard position, int packed) {
+        int animal = packed >>> 2;
+        int dir = packed & PACKED_DIR_MASK;
+        int side = position.getSideToMove();
+        int from = Long.numberOfTrailingZeros(position.getPieces(side, animal));
+        int to = MoveGenerator.neighbor(from, dir);
+        int flags = NONE;
+        if ((BitBoard.LAKE_MASK & BitBoard.bit(to)) != 0 && animal != BitBoard.RAT) {
+            to = LeapTable.target(from, dir);
+            flags = LEAP;
+        }
+        if ((position.getOccupancy(side ^ 1) & BitBoard.bit(to)) != 0) {
+            flags |= CAPTURE;
+        }
+        return encode(from, to, flags);
+    }
+
+/**
+ * Formats a move as "r,c-r,c" for logs and tools.
+ *
+ * @param move The encoded move.
+ * @return A readable form of the move.
+ */
+    public static String toString(int move) {
+        int from = from(move);
+        int to = to(move);
+        return BitBoard.rowOf(from) + "," + BitBoard.colOf(from)
+            + (isCapture(move) ? "x" : "-")
+            + BitBoard.rowOf(to) + "," + BitBoard.colOf(to);
+    }
+}
@@ -0,0 +1,118 @@
+package model;
+
+public final class MoveGenerator {
+    // Upper bound: 8 pieces with at most 4 directions each
+    public static final int MAX_MOVES = 32;
+
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+
+    // NEIGHBOR[sq][dir] is the adjacent square in that direction, or -1 off the board
+    private static final int[][] NEIGHBOR = new int[BitBoard.SQUARES][4];
+
+    static {
+        for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+            int row = BitBoard.rowOf(sq);
+            int col = BitBoard.colOf(sq);
+            for (int dir = 0; dir < 4; dir++) {
+                int r = row + ROW_STEP[dir];
+                int c = col + COL_STEP[dir];
+                if (r >= 0 && r < Board.getRows() && c >= 0 && c < Board.getCols()) {
+                    NEIGHBOR[sq][dir] = BitBoard.square(r, c);
+                } else {
+                    NEIGHBOR[sq][dir] = -1;
+                }
+            }
+        }
+    }
+
+    private MoveGenerator() {
+    }
+
+/**
+ * Lists the legal moves of the current player of a game.
+ *
+ * Pre-condition:
+ * - The first player must have been determined.
+ * - moves must have room for MAX_MOVES entries.
+ *
+ * Post-condition:
+ * - moves[0..count) holds every legal move of the current player.
+ *
+ * @param game The game to generate moves for.
+ * @param moves The buffer to fill.
+ * @return The number of moves written.
+ */
+    public static int generate(Game game, int[] moves) {
+        int side = BitBoard.sideOf(game.getCurrentPlayer().getName());
+        return generate(game.getBoard().getBitBoard(), side, moves, 0);
+    }
+
+/**
+ * Lists the legal moves of one side, following the rules of the piece
+ * classes and Game.movePiece.
+ *
+ * Pre-condition:
+ * - moves must have room for MAX_MOVES entries starting at offset.
+ *
+ * Post-condition:
+ * - moves[offset..offset+count) holds every legal move of the side.
+ * - Nothing is allocated.
+ *
+ * @param board The position to generate from.
+ * @param side BLUE or GREEN.
+ * @param moves The buffer to fill.
+ * @param offset The first index of moves to write.
+ * @return The number of moves written.
+ */
+    public static int generate(BitBoard board, int side, int[] moves, int offset) {
+        long own = board.getOccupancy(side);
+        long enemy = board.getOccupancy(side ^ 1);
+        long blocked = own | BitBoard.denOf(side);
+        long rats = board.getRats();
+        int count = offset;
+
+        for (long remaining = own; remaining != 0; remaining &= remaining - 1) {
+            int from = Long.numberOfTrailingZeros(remaining);
+            int code = board.pieceAt(from);
+            int animal = BitBoard.animalOf(code);
+
+            for (int dir = 0; dir < 4; dir++) {
+                int to = NEIGHBOR[from][dir];
+                if (to < 0) continue;
+                long toBit = BitBoard.bit(to);
+                int flags = Move.NONE;
+
+                if ((BitBoard.LAKE_MASK & toBit) != 0 && animal != BitBoard.RAT) {
+                    if (animal != BitBoard.LION && animal != BitBoard.TIGER) continue;
+                    to = LeapTable.target(from, dir);
+                    if (to < 0 || (LeapTable.path(from, dir) & rats) != 0) continue;
+                    toBit = BitBoard.bit(to);
+                    flags = Move.LEAP;
+                }
+
+                if ((blocked & toBit) != 0) continue;
+
+                if ((enemy & toBit) != 0) {
+                    // Skip attacks the rules forbid, like a lake rat attacking a piece on land
+                    if (CaptureTable.resolve(code, from, board.pieceAt(to), to) == CaptureTable.ILLEGAL) continue;
+                    flags |= Move.CAPTURE;
+                }
+
+                moves[count++] = Move.encode(from, to, flags);
+            }
+        }
+        return count - offset;
+    }
+
+/**
+ * Gets the square next to another in a direction.
+ *
+ * @param sq The square index.
+ * @param dir 0 = up, 1 = down, 2 = left, 3 = right.
+ * @return The neighbouring square, or -1 off the board.
+ */
+    public static int neighbor(int sq, int dir) {
+        return NEIGHBOR[sq][dir];
+    }
+}
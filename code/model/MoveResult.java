@@ -0,0 +1,54 @@
+package model;
+
+public enum MoveResult {
+    OK("Move accepted"),
+    NO_PIECE("Invalid move!"),
+    INVALID_MOVE("Invalid move!"),
+    ILLEGAL_LAKE("%s cannot swim in lakes!"),
+    LEAP_INVALID("%s cannot leap over lake - path is blocked!"),
+    LEAP_BLOCKED_BY_RAT("%s cannot leap over lake - path is blocked!"),
+    OWN_PIECE("Cannot capture your own piece!"),
+    LAKE_TARGET("Only rats can capture pieces on the lake!"),
+    RAT_LAKE_CAPTURE_RULE("Rat in lake can only capture other rats in lake!"),
+    NOT_YOUR_PIECE("Not your piece!"),
+    GAME_OVER("The game is already over!");
+
+    private final String message;
+
+/**
+ * Constructs a MoveResult with its message template.
+ *
+ * @param message The message shown to players, where %s is the piece name.
+ */
+    MoveResult(String message) {
+        this.message = message;
+    }
+
+/**
+ * Checks whether the move was accepted.
+ *
+ * @return true if this result is OK.
+ */
+    public boolean isLegal() {
+        return this == OK;
+    }
+
+/**
+ * Builds the message shown to players for this result.
+ *
+ * Pre-condition:
+ * - pieceName must not be null for results that mention the piece.
+ *
+ * Post-condition:
+ * - Returns the same text the old exception messages used.
+ *
+ * @param pieceName The animal name of the moving piece.
+ * @return The message for the UI.
+ */
+    public String getMessage(String pieceName) {
+        if (message.contains("%s")) {
+            return String.format(message, pieceName);
+        }
+        return message;
+    }
+}
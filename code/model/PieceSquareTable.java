@@ -0,0 +1,102 @@
+package model;
+
+public final class PieceSquareTable {
+    // Piece values indexed by animal; the Rat is worth more than its strength
+    // because it is the only piece that can take the Elephant.
+    private static final int[] MATERIAL = {300, 200, 300, 400, 500, 800, 900, 1000};
+
+    // Bonus per step closer to the enemy home base
+    private static final int ADVANCE_BONUS = 6;
+
+    // Bonus for standing next to the enemy home base
+    private static final int DEN_ATTACK_BONUS = 120;
+
+    // Bonus for standing next to an enemy trap, one step from the den guard
+    private static final int TRAP_PRESSURE_BONUS = 25;
+
+    // VALUE[code][sq] is the piece's worth on sq: positive for Blue, negative for Green
+    private static final int[][] VALUE = new int[2 * BitBoard.ANIMALS][BitBoard.SQUARES];
+
+    static {
+        int maxDistance = Board.getRows() + Board.getCols();
+        for (int side = BitBoard.BLUE; side <= BitBoard.GREEN; side++) {
+            int den = Long.numberOfTrailingZeros(BitBoard.denOf(side ^ 1));
+            long enemyTraps = BitBoard.trapsOf(side ^ 1);
+            int sign = side == BitBoard.BLUE ? 1 : -1;
+
+            for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+                int distance = Math.abs(BitBoard.rowOf(sq) - BitBoard.rowOf(den))
+                    + Math.abs(BitBoard.colOf(sq) - BitBoard.colOf(den));
+                int placement = (maxDistance - distance) * ADVANCE_BONUS;
+                if (distance == 1) {
+                    placement += DEN_ATTACK_BONUS;
+                } else if ((enemyTraps & BitBoard.bit(sq)) == 0 && nextTo(sq, enemyTraps)) {
+                    placement += TRAP_PRESSURE_BONUS;
+                }
+                for (int animal = 0; animal < BitBoard.ANIMALS; animal++) {
+                    VALUE[BitBoard.code(side, animal)][sq] = sign * (MATERIAL[animal] + placement);
+                }
+            }
+        }
+    }
+
+    private PieceSquareTable() {
+    }
+
+/**
+ * Gets the worth of one piece standing on one square.
+ *
+ * @param code The piece code.
+ * @param sq The square index.
+ * @return The value to add to the Blue-minus-Green score.
+ */
+    public static int value(int code, int sq) {
+        return VALUE[code][sq];
+    }
+
+/**
+ * Gets the material value of an animal.
+ *
+ * @param animal The animal index.
+ * @return The animal's value.
+ */
+    public static int material(int animal) {
+        return MATERIAL[animal];
+    }
+
+/**
+ * Computes a position's score from scratch, for checking the incremental score.
+ *
+ * Pre-condition:
+ * - board must not be null.
+ *
+ * Post-condition:
+ * - Returns the score BitBoard.getScore() should hold for the same position.
+ *
+ * @param board The position.
+ * @return The score, positive when Blue is ahead.
+ */
+    public static int scoreOf(BitBoard board) {
+        int score = 0;
+        for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+            int code = board.pieceAt(sq);
+            if (code != BitBoard.EMPTY) {
+                score += VALUE[code][sq];
+            }
+        }
+        return score;
+    }
+
+/**
+ * Checks whether a square is next to any square of a mask.
+ */
+    private static boolean nextTo(int sq, long mask) {
+        for (int dir = 0; dir < 4; dir++) {
+            int next = MoveGenerator.neighbor(sq, dir);
+            if (next >= 0 && (mask & BitBoard.bit(next)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -6,8 +6,12 @@ import java.util.List;
 import java.util.ArrayList;
 
 public class Player {
+    public static final int ANIMALS = 8;
+
     private String name;
     private List<Piece> pieces;
+    private Piece[] byAnimal;
+    private int aliveMask;
 
 /**
  * Constructs a new Player with a given name.
@@ -24,6 +28,8 @@ public class Player {
     public Player(String name) {
         this.name = name;
         this.pieces = new ArrayList<>();
+        this.byAnimal = new Piece[ANIMALS];
+        this.aliveMask = 0;
     }
 
 /**
@@ -34,11 +40,35 @@ public class Player {
  *
  * Post-condition:
  * - The piece is added to the player's internal list of pieces.
+ * - The piece is registered under its animal and reports its captures here.
  *
  * @param piece The Piece to be added.
  */
     public void addPiece(Piece piece) {
         pieces.add(piece);
+        byAnimal[piece.getAnimal()] = piece;
+        piece.setPlayer(this);
+        updateAlive(piece);
+    }
+
+/**
+ * Updates the alive mask after a piece's capture state changed.
+ *
+ * Pre-condition:
+ * - piece must have been added to this player.
+ *
+ * Post-condition:
+ * - The piece's bit in the alive mask matches its capture state.
+ *
+ * @param piece The piece whose state changed.
+ */
+    public void updateAlive(Piece piece) {
+        int bit = 1 << piece.getAnimal();
+        if (piece.isCaptured()) {
+            aliveMask &= ~bit;
+        } else {
+            aliveMask |= bit;
+        }
     }
 
 /**
@@ -55,12 +85,51 @@ public class Player {
  * @return The matching Piece, or null if not available.
  */
     public Piece getPiece(String pieceType) {
-        for (Piece piece : pieces) {
-            if (piece.getClass().getSimpleName().equalsIgnoreCase(pieceType) && !piece.isCaptured()) {
-                return piece;
-            }
-        }
-        return null;
+        int animal = Piece.animalOf(pieceType);
+        return animal < 0 ? null : getPiece(animal);
+    }
+
+/**
+ * Retrieves an active piece by its animal index.
+ *
+ * Pre-condition:
+ * - animal must be in 0..7 (strength - 1).
+ *
+ * Post-condition:
+ * - Returns the piece, or null if the player has none or it was captured.
+ * - Nothing is allocated.
+ *
+ * @param animal The animal index.
+ * @return The matching Piece, or null if not available.
+ */
+    public Piece getPiece(int animal) {
+        return (aliveMask & (1 << animal)) != 0 ? byAnimal[animal] : null;
+    }
+
+/**
+ * Gets the animals still on the board as a bitmask. Hot loops iterate it
+ * without allocating:
+ * for (int m = getAliveMask(); m != 0; m &= m - 1) getPiece(Integer.numberOfTrailingZeros(m));
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Bit i is set when the piece of animal index i is active.
+ *
+ * @return The alive mask.
+ */
+    public int getAliveMask() {
+        return aliveMask;
+    }
+
+/**
+ * Counts the player's active pieces.
+ *
+ * @return The number of pieces not captured.
+ */
+    public int getActiveCount() {
+        return Integer.bitCount(aliveMask);
     }
 
 /**
@@ -85,16 +154,15 @@ public class Player {
  * - None.
  *
  * Post-condition:
- * - Returns a list of only those pieces that have not been captured.
+ * - Returns a new list of the pieces not captured, weakest first.
+ * - Allocates; hot loops should iterate getAliveMask instead.
  *
  * @return List of active (uncaptured) pieces.
  */
     public List<Piece> getActivePieces() {
-        List<Piece> activePieces = new ArrayList<>();
-        for (Piece piece : pieces) {
-            if (!piece.isCaptured()) {
-                activePieces.add(piece);
-            }
+        List<Piece> activePieces = new ArrayList<>(getActiveCount());
+        for (int mask = aliveMask; mask != 0; mask &= mask - 1) {
+            activePieces.add(byAnimal[Integer.numberOfTrailingZeros(mask)]);
         }
         return activePieces;
     }
@@ -113,12 +181,7 @@ public class Player {
  * @return true if player has no remaining active pieces, false otherwise.
  */
     public boolean hasLostAllPieces() {
-        for (Piece piece : pieces) {
-            if (!piece.isCaptured()) {
-                return false;
-            }
-        }
-        return true;
+        return aliveMask == 0;
     }
 
 /**
@@ -0,0 +1,186 @@
+package model;
+
+public final class PositionCodec {
+    // One square byte per piece code, then the flags byte
+    public static final int BYTES = 2 * BitBoard.ANIMALS + 1;
+
+    // Square byte of a piece that has been captured
+    public static final int CAPTURED = 0xFF;
+
+    // Flags byte: bit 0 is the side to move, bits 1-2 the winner plus one
+    private static final int SIDE_BIT = 1;
+    private static final int WINNER_SHIFT = 1;
+
+    // Notation letters by animal index; P is the Leopard (panther)
+    private static final String LETTERS = "RCDWPTLE";
+
+    private PositionCodec() {
+    }
+
+/**
+ * Writes a position as 17 bytes: the square of each piece, Blue Rat to
+ * Green Elephant (CAPTURED if gone), then the flags byte.
+ *
+ * Pre-condition:
+ * - out must have BYTES bytes free from offset.
+ *
+ * Post-condition:
+ * - out[offset .. offset + BYTES) holds the encoding; position is unchanged.
+ *
+ * @param position The position to encode.
+ * @param out The destination array.
+ * @param offset Where the encoding starts.
+ */
+    public static void encode(BitBoard position, byte[] out, int offset) {
+        for (int code = 0; code < 2 * BitBoard.ANIMALS; code++) {
+            long bits = position.getPieces(BitBoard.sideOf(code), BitBoard.animalOf(code));
+            out[offset + code] = (byte) (bits == 0 ? CAPTURED : Long.numberOfTrailingZeros(bits));
+        }
+        out[offset + 2 * BitBoard.ANIMALS] =
+            (byte) (position.getSideToMove() | (position.getWinner() + 1) << WINNER_SHIFT);
+    }
+
+/**
+ * Encodes a position into a new array.
+ *
+ * @param position The position to encode.
+ * @return The BYTES-long encoding.
+ */
+    public static byte[] encode(BitBoard position) {
+        byte[] out = new byte[BYTES];
+        encode(position, out, 0);
+        return out;
+    }
+
+/**
+ * Reads a position written by encode.
+ *
+ * Pre-condition:
+ * - in must hold BYTES bytes from offset.
+ *
+ * Post-condition:
+ * - position holds the decoded pieces, side to move and winner, with an
+ *   empty undo stack.
+ * - Throws IllegalArgumentException, leaving position cleared, if a square
+ *   is off the board, two pieces share a square or the flags are invalid.
+ *
+ * @param in The source array.
+ * @param offset Where the encoding starts.
+ * @param position The bitboard to fill.
+ */
+    public static void decode(byte[] in, int offset, BitBoard position) {
+        position.clear();
+        long occupied = 0L;
+        for (int code = 0; code < 2 * BitBoard.ANIMALS; code++) {
+            int sq = in[offset + code] & 0xFF;
+            if (sq == CAPTURED) continue;
+            if (sq >= BitBoard.SQUARES || (occupied & BitBoard.bit(sq)) != 0) {
+                position.clear();
+                throw new IllegalArgumentException("Invalid square " + sq + " for piece code " + code);
+            }
+            occupied |= BitBoard.bit(sq);
+            position.put(code, sq);
+        }
+        int flags = in[offset + 2 * BitBoard.ANIMALS] & 0xFF;
+        int winner = (flags >>> WINNER_SHIFT) - 1;
+        if (winner > BitBoard.GREEN) {
+            position.clear();
+            throw new IllegalArgumentException("Invalid flags byte " + flags);
+        }
+        position.setSideToMove(flags & SIDE_BIT);
+        position.setWinner(winner);
+    }
+
+/**
+ * Writes a position as one line of text: the rows from 0 to 6 separated
+ * by '/', each listing its 9 squares with Blue pieces in upper case, Green
+ * in lower case (R C D W P T L E, P for the Leopard) and a digit for a run
+ * of empty squares, then the side to move and the winner. The starting
+ * setup with Blue to move is "T1E3r1l/1C5d1/2W3p2/9/2P3w2/1D5c1/L1R3e1t b -".
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Returns the notation; position is unchanged.
+ *
+ * @param position The position to print.
+ * @return The notation.
+ */
+    public static String toText(BitBoard position) {
+        StringBuilder text = new StringBuilder(64);
+        for (int row = 0; row < Board.getRows(); row++) {
+            if (row > 0) text.append('/');
+            int empty = 0;
+            for (int col = 0; col < Board.getCols(); col++) {
+                int code = position.pieceAt(BitBoard.square(row, col));
+                if (code == BitBoard.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    text.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                char letter = LETTERS.charAt(BitBoard.animalOf(code));
+                text.append(BitBoard.sideOf(code) == BitBoard.BLUE ? letter : Character.toLowerCase(letter));
+            }
+            if (empty > 0) text.append((char) ('0' + empty));
+        }
+        text.append(' ').append(position.getSideToMove() == BitBoard.BLUE ? 'b' : 'g');
+        int winner = position.getWinner();
+        text.append(' ').append(winner == BitBoard.EMPTY ? '-' : winner == BitBoard.BLUE ? 'b' : 'g');
+        return text.toString();
+    }
+
+/**
+ * Reads a position written by toText.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - position holds the parsed position, with an empty undo stack.
+ * - Throws IllegalArgumentException, leaving position cleared, if the
+ *   text is malformed or a side has two pieces of the same animal.
+ *
+ * @param text The notation.
+ * @param position The bitboard to fill.
+ */
+    public static void fromText(String text, BitBoard position) {
+        position.clear();
+        int i = 0;
+        int length = text.length();
+        for (int row = 0; row < Board.getRows(); row++) {
+            if (row > 0) {
+                if (i >= length || text.charAt(i) != '/') throw malformed(text, position);
+                i++;
+            }
+            int col = 0;
+            while (col < Board.getCols() && i < length) {
+                char c = text.charAt(i++);
+                if (c >= '1' && c <= '9') {
+                    col += c - '0';
+                    continue;
+                }
+                int animal = LETTERS.indexOf(Character.toUpperCase(c));
+                int side = Character.isUpperCase(c) ? BitBoard.BLUE : BitBoard.GREEN;
+                if (animal < 0 || position.getPieces(side, animal) != 0) throw malformed(text, position);
+                position.put(BitBoard.code(side, animal), BitBoard.square(row, col++));
+            }
+            if (col != Board.getCols()) throw malformed(text, position);
+        }
+        if (length != i + 4 || text.charAt(i) != ' ' || text.charAt(i + 2) != ' ') throw malformed(text, position);
+
+        int side = "bg".indexOf(text.charAt(i + 1));
+        int winner = "-bg".indexOf(text.charAt(i + 3)) - 1;
+        if (side < 0 || winner < BitBoard.EMPTY) throw malformed(text, position);
+        position.setSideToMove(side);
+        position.setWinner(winner);
+    }
+
+    private static IllegalArgumentException malformed(String text, BitBoard position) {
+        position.clear();
+        return new IllegalArgumentException("Malformed position: " + text);
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.util.SplittableRandom;
+
+public final class Zobrist {
+    // Fixed seed so keys are stable between runs and can be stored in files
+    private static final long SEED = 0x4A554E474C45L;
+
+    private static final long[][] PIECE_SQUARE = new long[2 * BitBoard.ANIMALS][BitBoard.SQUARES];
+    private static final long GREEN_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int code = 0; code < PIECE_SQUARE.length; code++) {
+            for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+                PIECE_SQUARE[code][sq] = random.nextLong();
+            }
+        }
+        GREEN_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+/**
+ * Gets the key of one piece standing on one square.
+ *
+ * @param code The piece code.
+ * @param sq The square index.
+ * @return The random key to XOR into the position key.
+ */
+    public static long piece(int code, int sq) {
+        return PIECE_SQUARE[code][sq];
+    }
+
+/**
+ * Computes a position key from scratch, for checking the incremental key.
+ *
+ * Pre-condition:
+ * - board must not be null.
+ *
+ * Post-condition:
+ * - Returns the key BitBoard.getKey() should hold for the same position.
+ *
+ * @param board The position.
+ * @return The 64-bit position key.
+ */
+    public static long keyOf(BitBoard board) {
+        long key = side(board.getSideToMove());
+        for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+            int code = board.pieceAt(sq);
+            if (code != BitBoard.EMPTY) {
+                key ^= PIECE_SQUARE[code][sq];
+            }
+        }
+        return key;
+    }
+
+/**
+ * Gets the key toggled when the side to move changes.
+ *
+ * @param side BLUE or GREEN.
+ * @return The side key (zero for Blue).
+ */
+    public static long side(int side) {
+        return side == BitBoard.GREEN ? GREEN_TO_MOVE : 0L;
+    }
+}
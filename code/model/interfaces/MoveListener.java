@@ -0,0 +1,22 @@
+package model.interfaces;
+
+/**
+ * Interface for objects told about every move a game accepts.
+ */
+public interface MoveListener
+{
+    /**
+     * Called after Game.movePiece or tryMove has played a move.
+     *
+     * Pre-condition:
+     * - The move has already been applied to the game.
+     *
+     * Post-condition:
+     * - The listener has recorded the move; the game is unchanged.
+     * - Nothing is thrown: the move stands whether or not it was recorded.
+     *
+     * @param from The square the piece moved from.
+     * @param to The square the piece moved to or attacked.
+     */
+    void moveAccepted(int from, int to);
+}
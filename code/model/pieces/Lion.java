@@ -2,7 +2,8 @@ package model.pieces;
 
 import model.tiles.*;
 import model.interfaces.Leaping;
-import model.Game;
+import model.BitBoard;
+import model.LeapTable;
 
 public class Lion extends Piece implements Leaping {
 
@@ -102,49 +103,10 @@ public class Lion extends Piece implements Leaping {
  */
     @Override
     public Tile leap(Tile destination) {
-        int currRow = pos.getRow();
-        int currCol = pos.getCol();
-        int destRow = destination.getRow();
-        int destCol = destination.getCol();
-
-        // Horizontal leap
-        if (currRow == destRow && Math.abs(destCol - currCol) > 1) 
-        {
-            int dir;
-            if (destCol > currCol) {
-                dir = 1;
-            } else {
-                dir = -1;
-            }
-            for (int c = currCol + dir; c != destCol; c += dir) {
-                Tile tile = Game.getBoard().getTile(currRow, c);
-                if (!(tile instanceof Lake) || 
-                    (tile.isOccupied() && tile.getCurrPiece() instanceof Rat)) {
-                    return null;
-                }
-            }
+        long rats = pos.getBoard().getBitBoard().getRats();
+        if (LeapTable.canLeap(BitBoard.square(pos), BitBoard.square(destination), rats)) {
             return destination;
         }
-
-        // Vertical leap
-        if (currCol == destCol && Math.abs(destRow - currRow) > 1) 
-        {
-            int dir;
-            if (destRow > currRow) {
-                dir = 1;
-            } else {
-                dir = -1;
-            }
-
-            for (int r = currRow + dir; r != destRow; r += dir) {
-                Tile tile = Game.getBoard().getTile(r, currCol);
-                if (!(tile instanceof Lake) || (tile.isOccupied() && tile.getCurrPiece() instanceof Rat)) {
-                    return null;
-                }
-            }
-            return destination;
-        }
-
         return null;
     }
 }
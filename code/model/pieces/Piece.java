@@ -1,11 +1,18 @@
 package model.pieces;
 
+import model.Player;
 import model.tiles.Tile;
 
 public abstract class Piece {
+    // Animal names indexed by animal code (strength - 1)
+    private static final String[] NAMES =
+        {"Rat", "Cat", "Dog", "Wolf", "Leopard", "Tiger", "Lion", "Elephant"};
+
     protected Tile pos;
     protected boolean isCaptured;
     protected String owner;
+    private Player player;
+    private byte code;
 
 /**
  * Constructs a piece with a given tile position and owner.
@@ -25,6 +32,7 @@ public abstract class Piece {
         this.pos = pos;
         this.owner = owner;
         this.isCaptured = false;
+        this.code = encode(owner, getStrength());
         if (pos != null) {
             pos.setCurrPiece(this);
         }
@@ -53,11 +61,30 @@ public abstract class Piece {
  *
  * Post-condition:
  * - The piece's captured status is updated.
+ * - The owning Player, if any, updates its alive mask.
  *
  * @param captured true to mark as captured, false otherwise.
  */
     public void setCaptured(boolean captured) {
         this.isCaptured = captured;
+        if (player != null) {
+            player.updateAlive(this);
+        }
+    }
+
+/**
+ * Links the piece to the Player that registered it.
+ *
+ * Pre-condition:
+ * - Called by Player.addPiece.
+ *
+ * Post-condition:
+ * - Later capture changes are reported to the player.
+ *
+ * @param player The owning player.
+ */
+    public void setPlayer(Player player) {
+        this.player = player;
     }
 
 /**
@@ -88,6 +115,94 @@ public abstract class Piece {
  */
     public void setOwner(String owner) {
         this.owner = owner;
+        this.code = encode(owner, getStrength());
+    }
+
+/**
+ * Gets the piece's code: side in bit 3, animal (strength - 1) in bits 0-2.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Returns the same code the bitboard stores for this piece.
+ *
+ * @return The piece code.
+ */
+    public byte getCode() {
+        return code;
+    }
+
+/**
+ * Gets the piece's animal code.
+ *
+ * @return The animal, 0 for Rat up to 7 for Elephant.
+ */
+    public int getAnimal() {
+        return code & 7;
+    }
+
+/**
+ * Gets the piece's side code.
+ *
+ * @return 0 for Blue, 1 for Green.
+ */
+    public int getSide() {
+        return code >> 3;
+    }
+
+/**
+ * Gets the animal name shown to players.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Returns the name from a table, without reflection.
+ *
+ * @return The animal name, e.g. "Tiger".
+ */
+    public String getName() {
+        return NAMES[code & 7];
+    }
+
+/**
+ * Gets the name of an animal code.
+ *
+ * @param animal The animal code, 0 to 7.
+ * @return The animal name, e.g. "Tiger".
+ */
+    public static String nameOf(int animal) {
+        return NAMES[animal];
+    }
+
+/**
+ * Looks up an animal code by name, ignoring case.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Returns the animal code, or -1 if the name is not an animal.
+ *
+ * @param name The animal name, e.g. "Tiger".
+ * @return The animal code, or -1.
+ */
+    public static int animalOf(String name) {
+        for (int animal = 0; animal < NAMES.length; animal++) {
+            if (NAMES[animal].equalsIgnoreCase(name)) {
+                return animal;
+            }
+        }
+        return -1;
+    }
+
+/**
+ * Builds a piece code from an owner name and a strength.
+ */
+    private static byte encode(String owner, int strength) {
+        int side = "Blue".equals(owner) ? 0 : 1;
+        return (byte) ((side << 3) | (strength - 1));
     }
 
 /**
@@ -20,6 +20,7 @@ public class HomeBase extends Tile {
     public HomeBase(int row, int col, String owner) {
         super(row, col);
         this.owner = owner;
+        this.terrain = owner.equals("Blue") ? BLUE_HOME : GREEN_HOME;
     }
 
 /**
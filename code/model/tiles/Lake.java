@@ -16,5 +16,6 @@ public class Lake extends Tile {
  */
     public Lake(int row, int col) {
         super(row, col);
+        this.terrain = LAKE;
     }
 }
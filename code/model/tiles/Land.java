@@ -16,5 +16,6 @@ public class Land extends Tile {
  */
     public Land(int row, int col) {
         super(row, col);
+        this.terrain = LAND;
     }
 }
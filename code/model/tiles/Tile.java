@@ -1,13 +1,26 @@
 package model.tiles;
 
+import model.Board;
 import model.pieces.Piece;
 
 public abstract class Tile {
+    // Terrain codes
+    public static final byte LAND = 0;
+    public static final byte LAKE = 1;
+    public static final byte BLUE_TRAP = 2;
+    public static final byte GREEN_TRAP = 3;
+    public static final byte BLUE_HOME = 4;
+    public static final byte GREEN_HOME = 5;
+
+    // Type labels indexed by terrain code
+    private static final String[] TYPE_NAMES = {"Land", "Lake", "Trap", "Trap", "HomeBase", "HomeBase"};
+
     protected String tilePos;
     protected int row;
     protected int col;
     protected Piece currPiece;
-    protected String type;
+    protected byte terrain;
+    protected Board board;
 
 /**
  * Constructs a Tile object with a specified row and column.
@@ -134,32 +147,62 @@ public abstract class Tile {
     }
 
 /**
- * Sets the type of this tile (e.g., "Land", "Lake", "Trap").
+ * Gets the type label of the tile.
  *
  * Pre-condition:
- * - type must be a valid string label.
+ * - None.
  *
  * Post-condition:
- * - The tile's type is set.
+ * - Returns "Land", "Lake", "Trap" or "HomeBase".
  *
- * @param type The string label for tile type.
+ * @return The tile's type.
  */
-    public void setType(String type) {
-        this.type = type;
+    public String getType() {
+        return TYPE_NAMES[terrain];
     }
 
 /**
- * Gets the type label of the tile.
+ * Gets the terrain code of the tile.
  *
  * Pre-condition:
- * - setType() has been called or default value exists.
+ * - None.
  *
  * Post-condition:
- * - Returns the type string of the tile.
+ * - Returns one of LAND, LAKE, BLUE_TRAP, GREEN_TRAP, BLUE_HOME or GREEN_HOME.
  *
- * @return The tile's type.
+ * @return The terrain code.
  */
-    public String getType() {
-        return type;
+    public byte getTerrain() {
+        return terrain;
+    }
+
+/**
+ * Links this tile to the board that contains it.
+ *
+ * Pre-condition:
+ * - board must be the Board holding this tile.
+ *
+ * Post-condition:
+ * - Pieces standing on this tile can reach their board through it.
+ *
+ * @param board The owning board.
+ */
+    public void setBoard(Board board) {
+        this.board = board;
+    }
+
+/**
+ * Gets the board that contains this tile.
+ *
+ * Pre-condition:
+ * - The tile must have been created by a Board.
+ *
+ * Post-condition:
+ * - Returns the owning board, or null for a standalone tile.
+ *
+ * @return The owning Board.
+ */
+    public Board getBoard() {
+        return board;
     }
 }
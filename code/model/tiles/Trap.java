@@ -20,6 +20,7 @@ public class Trap extends Tile {
     public Trap(int row, int col, String owner) {
         super(row, col);
         this.owner = owner;
+        this.terrain = owner.equals("Blue") ? BLUE_TRAP : GREEN_TRAP;
     }
 
 /**
@@ -0,0 +1,279 @@
+package service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import model.Board;
+import model.Game;
+import model.MoveGenerator;
+import model.MoveResult;
+import model.Player;
+import model.pieces.Piece;
+import model.tiles.Tile;
+
+public final class MatchService implements AutoCloseable {
+    private final Map<Long, Session> sessions;
+    private final AtomicLong nextId;
+    private final long idleTimeoutNanos;
+    private final ScheduledExecutorService sweeper;
+
+/**
+ * Constructs a headless match service that expires sessions left idle.
+ *
+ * Pre-condition:
+ * - idleTimeoutMillis must be positive.
+ *
+ * Post-condition:
+ * - A background sweeper removes sessions idle for longer than the timeout.
+ *
+ * @param idleTimeoutMillis How long a session may go without a move.
+ */
+    public MatchService(long idleTimeoutMillis) {
+        this.sessions = new ConcurrentHashMap<>();
+        this.nextId = new AtomicLong(1);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "match-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        sweeper.scheduleAtFixedRate(this::expireIdleSessions, period, period, TimeUnit.MILLISECONDS);
+    }
+
+/**
+ * Creates a new game session.
+ *
+ * Pre-condition:
+ * - Both choices must be valid animal names, as in the piece selection screen.
+ *
+ * Post-condition:
+ * - A session with a fresh Game is registered and the first player decided.
+ *
+ * @param player1Choice The piece Player 1 picked.
+ * @param player2Choice The piece Player 2 picked.
+ * @return The new session id.
+ */
+    public long createSession(String player1Choice, String player2Choice) {
+        Game game = new Game();
+        game.determineFirstPlayer(player1Choice, player2Choice);
+        long id = nextId.getAndIncrement();
+        sessions.put(id, new Session(game));
+        return id;
+    }
+
+/**
+ * Queues a move on a session's mailbox. Moves of one session run one at
+ * a time, in submission order, on a virtual thread; different sessions
+ * run in parallel.
+ *
+ * Pre-condition:
+ * - Coordinates must be within the board.
+ *
+ * Post-condition:
+ * - The returned future completes with the move's reply, or exceptionally
+ *   with IllegalArgumentException if the session does not exist.
+ *
+ * @param sessionId The session id.
+ * @param fromRow The row of the piece to move.
+ * @param fromCol The column of the piece to move.
+ * @param toRow The destination row.
+ * @param toCol The destination column.
+ * @return A future reply.
+ */
+    public CompletableFuture<MoveReply> submitMove(long sessionId, int fromRow, int fromCol, int toRow, int toCol) {
+        CompletableFuture<MoveReply> reply = new CompletableFuture<>();
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            reply.completeExceptionally(new IllegalArgumentException("No session " + sessionId));
+            return reply;
+        }
+        session.enqueue(() -> {
+            try {
+                reply.complete(session.play(fromRow, fromCol, toRow, toCol));
+            } catch (Throwable e) {
+                // A caller joining on the reply must not wait forever
+                reply.completeExceptionally(e);
+            }
+        });
+        return reply;
+    }
+
+/**
+ * Plays a move and waits for its reply.
+ *
+ * Pre-condition:
+ * - See submitMove.
+ *
+ * Post-condition:
+ * - Returns once the session has processed the move.
+ *
+ * @param sessionId The session id.
+ * @param fromRow The row of the piece to move.
+ * @param fromCol The column of the piece to move.
+ * @param toRow The destination row.
+ * @param toCol The destination column.
+ * @return The move's reply.
+ */
+    public MoveReply move(long sessionId, int fromRow, int fromCol, int toRow, int toCol) {
+        return submitMove(sessionId, fromRow, fromCol, toRow, toCol).join();
+    }
+
+/**
+ * Removes a session.
+ *
+ * @param sessionId The session id.
+ * @return true if the session existed.
+ */
+    public boolean closeSession(long sessionId) {
+        return sessions.remove(sessionId) != null;
+    }
+
+/**
+ * Removes every session that has been idle longer than the timeout.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - Idle sessions are removed; moves already queued on them still finish.
+ *
+ * @return The number of sessions removed.
+ */
+    public int expireIdleSessions() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Map.Entry<Long, Session> entry : sessions.entrySet()) {
+            if (now - entry.getValue().lastActive > idleTimeoutNanos
+                    && sessions.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+/**
+ * Gets the number of live sessions.
+ *
+ * @return The session count.
+ */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+/**
+ * Stops the sweeper and drops every session.
+ */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        sessions.clear();
+    }
+
+    /**
+     * One game with its own mailbox of pending moves.
+     */
+    private static class Session {
+        private final Game game;
+        private final ConcurrentLinkedQueue<Runnable> mailbox;
+        private final AtomicBoolean draining;
+        private volatile long lastActive;
+        private final int[] moves;
+
+        Session(Game game) {
+            this.game = game;
+            this.mailbox = new ConcurrentLinkedQueue<>();
+            this.draining = new AtomicBoolean(false);
+            this.moves = new int[MoveGenerator.MAX_MOVES];
+            this.lastActive = System.nanoTime();
+        }
+
+        /**
+         * Adds a task and starts a virtual thread to drain the mailbox if
+         * none is running.
+         */
+        void enqueue(Runnable task) {
+            lastActive = System.nanoTime();
+            mailbox.add(task);
+            if (draining.compareAndSet(false, true)) {
+                Thread.startVirtualThread(this::drain);
+            }
+        }
+
+        /**
+         * Runs queued tasks until the mailbox stays empty. A task that
+         * throws does not stop the session from draining later ones.
+         */
+        private void drain() {
+            do {
+                try {
+                    Runnable task;
+                    while ((task = mailbox.poll()) != null) {
+                        try {
+                            task.run();
+                        } catch (RuntimeException e) {
+                            System.err.println("Session task failed: " + e);
+                        }
+                    }
+                } finally {
+                    draining.set(false);
+                }
+            } while (!mailbox.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        /**
+         * Validates and plays one move, then switches turn. A side left
+         * with no legal move loses, before or after the move.
+         */
+        MoveReply play(int fromRow, int fromCol, int toRow, int toCol) {
+            Board board = game.getBoard();
+            Tile from = board.getTile(fromRow, fromCol);
+            Tile to = board.getTile(toRow, toCol);
+            Player current = game.getCurrentPlayer();
+
+            forfeitIfStuck();
+            MoveResult result;
+            if (game.getGameState().checkVictory()) {
+                result = MoveResult.GAME_OVER;
+            } else if (from == null || to == null || !from.isOccupied()) {
+                result = MoveResult.NO_PIECE;
+            } else {
+                Piece piece = from.getCurrPiece();
+                if (!piece.getOwner().equals(current.getName())) {
+                    result = MoveResult.NOT_YOUR_PIECE;
+                } else {
+                    result = game.tryMove(piece, to);
+                    if (result == MoveResult.OK) {
+                        if (!game.getGameState().checkVictory()) {
+                            game.switchTurn();
+                            forfeitIfStuck();
+                        }
+                    }
+                }
+            }
+
+            Player winner = game.getGameState().getWinner();
+            return new MoveReply(result, game.getGameState().checkVictory(),
+                winner == null ? null : winner.getName(),
+                game.getCurrentPlayer().getName(), game.positionKey());
+        }
+
+        /**
+         * Ends the game if the side to move has pieces but no legal move,
+         * as the board does, so the session is not left waiting for a
+         * move that can never be accepted.
+         */
+        private void forfeitIfStuck() {
+            if (!game.getGameState().checkVictory()
+                    && MoveGenerator.generate(game, moves) == 0) {
+                game.forfeit();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package service;
+
+import model.MoveResult;
+
+public class MoveReply {
+    private final MoveResult result;
+    private final boolean gameOver;
+    private final String winner;
+    private final String nextPlayer;
+    private final long positionKey;
+
+/**
+ * Constructs the reply to one submitted move.
+ *
+ * Pre-condition:
+ * - result must not be null.
+ *
+ * Post-condition:
+ * - The reply is immutable and safe to hand to any thread.
+ *
+ * @param result The validation result of the move.
+ * @param gameOver Whether the game has ended.
+ * @param winner The winner's name, or null.
+ * @param nextPlayer The name of the player to move next.
+ * @param positionKey The Zobrist key after the move.
+ */
+    public MoveReply(MoveResult result, boolean gameOver, String winner, String nextPlayer, long positionKey) {
+        this.result = result;
+        this.gameOver = gameOver;
+        this.winner = winner;
+        this.nextPlayer = nextPlayer;
+        this.positionKey = positionKey;
+    }
+
+/**
+ * Gets the validation result of the move.
+ *
+ * @return OK if the move was played, otherwise the rejection reason.
+ */
+    public MoveResult getResult() {
+        return result;
+    }
+
+/**
+ * Checks whether the game has ended.
+ *
+ * @return true if a player has won.
+ */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+/**
+ * Gets the winner's name.
+ *
+ * @return The winner, or null while the game is running.
+ */
+    public String getWinner() {
+        return winner;
+    }
+
+/**
+ * Gets the player to move next.
+ *
+ * @return The next player's name.
+ */
+    public String getNextPlayer() {
+        return nextPlayer;
+    }
+
+/**
+ * Gets the position key after the move.
+ *
+ * @return The Zobrist key.
+ */
+    public long getPositionKey() {
+        return positionKey;
+    }
+}
@@ -0,0 +1,504 @@
+package storage;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import model.BitBoard;
+import model.Game;
+import model.Move;
+
+public class GameDatabase implements AutoCloseable {
+    // "JKGD"
+    public static final int MAGIC = 0x4A4B4744;
+    public static final int HEADER_BYTES = 64;
+    public static final int ENTRY_BYTES = 16;
+
+    // Largest index that still fits one mapping
+    public static final int MAX_GAMES = (Integer.MAX_VALUE - HEADER_BYTES) / ENTRY_BYTES;
+
+    // Header fields
+    private static final int MAX_GAMES_AT = 4;
+    private static final int CAPACITY_AT = 8;
+    private static final int COUNT_AT = 16;
+    private static final int DATA_END_AT = 24;
+
+    // Slots ever handed out, raised before a game is written so open only
+    // has to scan the slots past COUNT_AT below it
+    private static final int CLAIMED_AT = 32;
+
+    // Atomic access to the mapped header; its fields are 8-byte aligned
+    private static final VarHandle HEADER_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    // Index entry fields: data offset, plies, first side, winner + 1, committed
+    private static final int OFFSET_AT = 0;
+    private static final int PLIES_AT = 8;
+    private static final int FIRST_SIDE_AT = 12;
+    private static final int WINNER_AT = 13;
+    private static final int COMMITTED_AT = 15;
+
+    // Move data is mapped in segments of this size; no game crosses one
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_BYTES = 1L << SEGMENT_SHIFT;
+
+    // Starting setups with each side to move, copied into replays
+    private static final BitBoard START_BLUE = startingSetup("Elephant", "Rat");
+    private static final BitBoard START_GREEN = startingSetup("Rat", "Elephant");
+
+    private final FileChannel channel;
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer[] segments;
+    private final int maxGames;
+    private final long dataCapacity;
+    private final boolean writable;
+    private final AtomicInteger gameCount;
+    private final AtomicLong dataEnd;
+
+/**
+ * A callback for streaming over every game in the database.
+ */
+    public interface Visitor {
+/**
+ * Called once for each committed game, in game order.
+ *
+ * @param database The database being scanned.
+ * @param game The game number.
+ */
+        void visit(GameDatabase database, int game);
+    }
+
+/**
+ * Maps an open database file, read-only unless writable.
+ */
+    private GameDatabase(FileChannel channel, int maxGames, long dataCapacity, boolean writable) throws IOException {
+        this.channel = channel;
+        this.maxGames = maxGames;
+        this.dataCapacity = dataCapacity;
+        this.writable = writable;
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        long dataStart = indexBytes(maxGames);
+        this.index = channel.map(mode, 0, dataStart);
+        this.segments = new MappedByteBuffer[(int) ((dataCapacity + SEGMENT_BYTES - 1) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(mode, dataStart + start,
+                Math.min(SEGMENT_BYTES, dataCapacity - start));
+        }
+        this.gameCount = new AtomicInteger();
+        this.dataEnd = new AtomicLong();
+    }
+
+/**
+ * Creates an empty database file, replacing any file already there. The
+ * file is sized for its full capacity up front but stays sparse on disk
+ * until games are written.
+ *
+ * Pre-condition:
+ * - maxGames must be in 1..MAX_GAMES and dataCapacity positive.
+ *
+ * Post-condition:
+ * - The database is open for appending and reading.
+ *
+ * @param file The database file.
+ * @param maxGames The most games the file can hold.
+ * @param dataCapacity The most move bytes the file can hold.
+ * @return The open database.
+ * @throws IOException If the file cannot be created or mapped.
+ */
+    public static GameDatabase create(Path file, int maxGames, long dataCapacity) throws IOException {
+        if (maxGames < 1 || maxGames > MAX_GAMES || dataCapacity < 1) {
+            throw new IllegalArgumentException("Invalid database size: " + maxGames + " games, " + dataCapacity + " bytes");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            GameDatabase database = new GameDatabase(channel, maxGames, dataCapacity, true);
+            database.index.putInt(0, MAGIC);
+            database.index.putInt(MAX_GAMES_AT, maxGames);
+            database.index.putLong(CAPACITY_AT, dataCapacity);
+            database.writeCounts();
+            return database;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+/**
+ * Opens an existing database. Games committed after the header was last
+ * written, for instance before a crash, are found from the index.
+ *
+ * Pre-condition:
+ * - file must have been created by GameDatabase.create.
+ *
+ * Post-condition:
+ * - The database is open for appending and reading.
+ *
+ * @param file The database file.
+ * @return The open database.
+ * @throws IOException If the file cannot be read or is not a database.
+ */
+    public static GameDatabase open(Path file) throws IOException {
+        return open(file, true);
+    }
+
+/**
+ * Opens an existing database for reading only, for instance to view its
+ * games while another process may still be appending. Nothing is
+ * written to the file, not even when it is closed.
+ *
+ * Pre-condition:
+ * - file must have been created by GameDatabase.create.
+ *
+ * Post-condition:
+ * - The database is open for reading; append throws.
+ *
+ * @param file The database file.
+ * @return The open database.
+ * @throws IOException If the file cannot be read or is not a database.
+ */
+    public static GameDatabase openReadOnly(Path file) throws IOException {
+        return open(file, false);
+    }
+
+    private static GameDatabase open(Path file, boolean writable) throws IOException {
+        FileChannel channel = writable
+            ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+            : FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_BYTES, channel.size()));
+            if (header.limit() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a game database");
+            }
+            GameDatabase database = new GameDatabase(channel, header.getInt(MAX_GAMES_AT),
+                header.getLong(CAPACITY_AT), writable);
+            database.recoverCounts();
+            return database;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+/**
+ * Appends a finished game. Any number of threads may append at once;
+ * each reserves its own index entry and move bytes.
+ *
+ * Pre-condition:
+ * - moves[0 .. plies) must hold moves packed with Move.pack, played from
+ *   the starting setup with firstSide to move.
+ *
+ * Post-condition:
+ * - The game is stored and visible to readers once this returns.
+ * - Throws IllegalStateException if the database is full or was opened
+ *   read-only. A slot whose
+ *   write failed stays uncommitted and is skipped by readers.
+ *
+ * @param firstSide The side that moved first.
+ * @param winner BLUE, GREEN, or EMPTY for an unfinished or drawn game.
+ * @param moves The packed moves.
+ * @param plies The number of moves.
+ * @return The game number.
+ */
+    public int append(int firstSide, int winner, byte[] moves, int plies) {
+        if (!writable) {
+            throw new IllegalStateException("Game database is open read-only");
+        }
+        int game = gameCount.getAndIncrement();
+        if (game >= maxGames) {
+            gameCount.decrementAndGet();
+            throw new IllegalStateException("Game database is full at " + maxGames + " games");
+        }
+        raiseClaimed(game + 1);
+        long offset = reserve(plies);
+        if (plies > 0) {
+            segments[(int) (offset >>> SEGMENT_SHIFT)].put((int) (offset & (SEGMENT_BYTES - 1)), moves, 0, plies);
+        }
+
+        int entry = entryAt(game);
+        index.putLong(entry + OFFSET_AT, offset);
+        index.putInt(entry + PLIES_AT, plies);
+        index.put(entry + FIRST_SIDE_AT, (byte) firstSide);
+        index.put(entry + WINNER_AT, (byte) (winner + 1));
+        // Everything above must be visible before the entry is marked committed
+        VarHandle.releaseFence();
+        index.put(entry + COMMITTED_AT, (byte) 1);
+        return game;
+    }
+
+/**
+ * Records in the header that slots below claimed have been handed out,
+ * so a crash leaves open a bounded range to scan.
+ */
+    private void raiseClaimed(long claimed) {
+        long seen = (long) HEADER_LONG.getVolatile(index, CLAIMED_AT);
+        while (seen < claimed && !HEADER_LONG.compareAndSet(index, CLAIMED_AT, seen, claimed)) {
+            seen = (long) HEADER_LONG.getVolatile(index, CLAIMED_AT);
+        }
+    }
+
+/**
+ * Reserves move bytes that do not cross a segment boundary.
+ *
+ * @return The data offset of the reserved bytes.
+ */
+    private long reserve(int plies) {
+        while (true) {
+            long end = dataEnd.get();
+            long start = end;
+            if (plies > 0 && (start >>> SEGMENT_SHIFT) != ((start + plies - 1) >>> SEGMENT_SHIFT)) {
+                start = ((start >>> SEGMENT_SHIFT) + 1) << SEGMENT_SHIFT;
+            }
+            if (start + plies > dataCapacity) {
+                throw new IllegalStateException("Game database is out of move space at " + dataCapacity + " bytes");
+            }
+            if (dataEnd.compareAndSet(end, start + plies)) {
+                return start;
+            }
+        }
+    }
+
+/**
+ * Streams over every committed game in order without copying any moves.
+ *
+ * Pre-condition:
+ * - visitor must not be null.
+ *
+ * Post-condition:
+ * - visitor has seen each committed game once.
+ *
+ * @param visitor The callback.
+ */
+    public void forEach(Visitor visitor) {
+        int count = getGameCount();
+        for (int game = 0; game < count; game++) {
+            if (isCommitted(game)) {
+                visitor.visit(this, game);
+            }
+        }
+    }
+
+/**
+ * Gets the number of game slots handed out, including games still being
+ * written by other threads.
+ *
+ * @return The game count.
+ */
+    public int getGameCount() {
+        return Math.min(gameCount.get(), maxGames);
+    }
+
+/**
+ * Checks whether a game has been completely written.
+ *
+ * @param game The game number.
+ * @return true if the game can be read.
+ */
+    public boolean isCommitted(int game) {
+        boolean committed = index.get(entryAt(game) + COMMITTED_AT) != 0;
+        VarHandle.acquireFence();
+        return committed;
+    }
+
+/**
+ * Gets the number of moves in a game.
+ *
+ * @param game A committed game number.
+ * @return The number of plies.
+ */
+    public int getPlies(int game) {
+        return index.getInt(entryAt(game) + PLIES_AT);
+    }
+
+/**
+ * Gets the side that moved first in a game.
+ *
+ * @param game A committed game number.
+ * @return BLUE or GREEN.
+ */
+    public int getFirstSide(int game) {
+        return index.get(entryAt(game) + FIRST_SIDE_AT);
+    }
+
+/**
+ * Gets the winner of a game.
+ *
+ * @param game A committed game number.
+ * @return BLUE, GREEN, or EMPTY.
+ */
+    public int getWinner(int game) {
+        return index.get(entryAt(game) + WINNER_AT) - 1;
+    }
+
+/**
+ * Gets one packed move of a game, straight from the mapped file.
+ *
+ * Pre-condition:
+ * - ply must be below getPlies(game).
+ *
+ * @param game A committed game number.
+ * @param ply The move index.
+ * @return The move packed as by Move.pack.
+ */
+    public int getPackedMove(int game, int ply) {
+        long at = index.getLong(entryAt(game) + OFFSET_AT) + ply;
+        return segments[(int) (at >>> SEGMENT_SHIFT)].get((int) (at & (SEGMENT_BYTES - 1)));
+    }
+
+/**
+ * Sets a bitboard to the starting setup of a game.
+ *
+ * Pre-condition:
+ * - position must not be null.
+ *
+ * Post-condition:
+ * - position holds the starting setup with the game's first side to move.
+ *
+ * @param game A committed game number.
+ * @param position The bitboard to fill.
+ */
+    public void startPosition(int game, BitBoard position) {
+        position.copyFrom(getFirstSide(game) == BitBoard.BLUE ? START_BLUE : START_GREEN);
+    }
+
+/**
+ * Decodes the moves of a game by replaying them from its starting setup.
+ *
+ * Pre-condition:
+ * - moves must have room for getPlies(game) entries.
+ *
+ * Post-condition:
+ * - moves holds the encoded moves and position the final position.
+ *
+ * @param game A committed game number.
+ * @param position Scratch bitboard that receives the final position.
+ * @param moves Receives the encoded moves.
+ * @return The number of moves.
+ */
+    public int readMoves(int game, BitBoard position, int[] moves) {
+        startPosition(game, position);
+        int plies = getPlies(game);
+        for (int ply = 0; ply < plies; ply++) {
+            moves[ply] = Move.unpack(position, getPackedMove(game, ply));
+            position.makeMove(moves[ply]);
+        }
+        return plies;
+    }
+
+/**
+ * Gets a game as a move source for replay. Moves are read from the
+ * mapped file as they are needed.
+ *
+ * Pre-condition:
+ * - game must be committed.
+ *
+ * Post-condition:
+ * - The source reads from this database and must not be used after it
+ *   is closed.
+ *
+ * @param game The game number.
+ * @return The game's moves.
+ */
+    public MoveSource moveSource(int game) {
+        int firstSide = getFirstSide(game);
+        int plies = getPlies(game);
+        return new MoveSource() {
+            @Override
+            public int getFirstSide() {
+                return firstSide;
+            }
+
+            @Override
+            public int getPlies() {
+                return plies;
+            }
+
+            @Override
+            public int moveAt(int ply, BitBoard position) {
+                return Move.unpack(position, getPackedMove(game, ply));
+            }
+        };
+    }
+
+/**
+ * Writes the game count to the header and forces the file to disk.
+ *
+ * Pre-condition:
+ * - The database must be open.
+ *
+ * Post-condition:
+ * - Every committed game is on disk; a read-only database is left as it is.
+ */
+    public void flush() {
+        if (!writable) return;
+        writeCounts();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        index.force();
+    }
+
+/**
+ * Flushes the database, unless it is read-only, and closes it.
+ *
+ * Pre-condition:
+ * - No other thread is appending.
+ *
+ * Post-condition:
+ * - The file is closed; the database must not be used again.
+ *
+ * @throws IOException If the file cannot be closed.
+ */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) return;
+        flush();
+        channel.close();
+    }
+
+    private void writeCounts() {
+        index.putLong(COUNT_AT, getGameCount());
+        index.putLong(DATA_END_AT, dataEnd.get());
+    }
+
+/**
+ * Restores the counters from the header, then extends them past any
+ * game committed after the header was written. Only slots below the
+ * claimed mark can hold such a game, so the scan does not grow with the
+ * database's capacity.
+ */
+    private void recoverCounts() {
+        int count = (int) index.getLong(COUNT_AT);
+        long end = index.getLong(DATA_END_AT);
+        int claimed = (int) Math.min(maxGames, index.getLong(CLAIMED_AT));
+        for (int game = count; game < claimed; game++) {
+            if (!isCommitted(game)) continue;
+            count = game + 1;
+            end = Math.max(end, index.getLong(entryAt(game) + OFFSET_AT) + getPlies(game));
+        }
+        gameCount.set(count);
+        dataEnd.set(end);
+    }
+
+    private static int entryAt(int game) {
+        return HEADER_BYTES + game * ENTRY_BYTES;
+    }
+
+    private static long indexBytes(int maxGames) {
+        return HEADER_BYTES + (long) maxGames * ENTRY_BYTES;
+    }
+
+    private static BitBoard startingSetup(String player1Choice, String player2Choice) {
+        Game game = new Game();
+        game.determineFirstPlayer(player1Choice, player2Choice);
+        BitBoard position = new BitBoard();
+        position.copyFrom(game.getBoard().getBitBoard());
+        return position;
+    }
+}
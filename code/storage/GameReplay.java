@@ -0,0 +1,168 @@
+package storage;
+
+import java.util.Arrays;
+import model.BitBoard;
+import model.Game;
+import model.PositionCodec;
+
+public class GameReplay {
+    // Plies between stored snapshots; a seek replays fewer moves than this
+    public static final int DEFAULT_INTERVAL = 32;
+
+    private final MoveSource source;
+    private final int interval;
+    private final Game game;
+    private final BitBoard position;
+
+    // Snapshot i is the position after i * interval plies, in PositionCodec form
+    private byte[] snapshots;
+    private int snapshotCount;
+
+    private int ply;
+    private int lastMove;
+
+/**
+ * Constructs a replay at the start of a recorded game. Nothing is read
+ * from the source until the replay moves.
+ *
+ * Pre-condition:
+ * - interval must be positive.
+ *
+ * Post-condition:
+ * - getGame() shows the starting setup with the first side to move.
+ *
+ * @param source The recorded moves.
+ * @param interval The plies between snapshots.
+ */
+    public GameReplay(MoveSource source, int interval) {
+        this.source = source;
+        this.interval = interval;
+        this.game = new Game();
+        // Player 1 is Blue; the stronger pick moves first
+        if (source.getFirstSide() == BitBoard.BLUE) {
+            game.determineFirstPlayer("Elephant", "Rat");
+        } else {
+            game.determineFirstPlayer("Rat", "Elephant");
+        }
+        this.position = new BitBoard();
+        position.copyFrom(game.getBoard().getBitBoard());
+        this.snapshots = new byte[PositionCodec.BYTES * 16];
+        PositionCodec.encode(position, snapshots, 0);
+        this.snapshotCount = 1;
+        this.ply = 0;
+        this.lastMove = -1;
+    }
+
+/**
+ * Moves the replay to any ply. The position comes from the nearest stored
+ * snapshot plus fewer than interval moves. Snapshots past the furthest
+ * ply reached so far are taken on the way, so the first jump there
+ * replays from the last one once.
+ *
+ * Pre-condition:
+ * - None; target is clamped to 0..getPlies().
+ *
+ * Post-condition:
+ * - getGame() shows the position after target plies.
+ *
+ * @param target The ply to show.
+ */
+    public void seek(int target) {
+        target = Math.max(0, Math.min(target, source.getPlies()));
+        if (target != ply + 1) {
+            // Start one snapshot back so the last move is replayed and known
+            int snapshot = Math.min(target == 0 ? 0 : (target - 1) / interval, snapshotCount - 1);
+            PositionCodec.decode(snapshots, snapshot * PositionCodec.BYTES, position);
+            ply = snapshot * interval;
+            lastMove = -1;
+        }
+        while (ply < target) {
+            lastMove = source.moveAt(ply, position);
+            position.makeMove(lastMove);
+            ply++;
+            if (ply % interval == 0 && ply / interval == snapshotCount) {
+                addSnapshot();
+            }
+        }
+        game.setPosition(position);
+    }
+
+/**
+ * Shows the next move.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The replay is one ply further, unless it was at the end.
+ *
+ * @return true if there was a move to show.
+ */
+    public boolean stepForward() {
+        if (ply >= source.getPlies()) return false;
+        seek(ply + 1);
+        return true;
+    }
+
+/**
+ * Takes the last shown move back.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The replay is one ply earlier, unless it was at the start.
+ *
+ * @return true if there was a move to take back.
+ */
+    public boolean stepBack() {
+        if (ply == 0) return false;
+        seek(ply - 1);
+        return true;
+    }
+
+/**
+ * Gets the game showing the current position, for a BoardView.
+ *
+ * @return The game.
+ */
+    public Game getGame() {
+        return game;
+    }
+
+/**
+ * Gets the number of plies shown.
+ *
+ * @return The current ply.
+ */
+    public int getPly() {
+        return ply;
+    }
+
+/**
+ * Gets the length of the recorded game.
+ *
+ * @return The number of plies.
+ */
+    public int getPlies() {
+        return source.getPlies();
+    }
+
+/**
+ * Gets the move that led to the current position.
+ *
+ * @return The encoded move, or -1 at the start of the game.
+ */
+    public int getLastMove() {
+        return lastMove;
+    }
+
+    private void addSnapshot() {
+        int offset = snapshotCount * PositionCodec.BYTES;
+        if (offset == snapshots.length) {
+            snapshots = Arrays.copyOf(snapshots, offset * 2);
+        }
+        PositionCodec.encode(position, snapshots, offset);
+        snapshotCount++;
+    }
+}
@@ -0,0 +1,399 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import model.BitBoard;
+import model.Board;
+import model.Game;
+import model.Move;
+import model.interfaces.MoveListener;
+import model.pieces.Piece;
+import model.tiles.Tile;
+
+public class MoveJournal implements MoveListener, AutoCloseable {
+    // "JKJ1"
+    public static final int MAGIC = 0x4A4B4A31;
+    public static final int HEADER_BYTES = 8;
+    public static final int RECORD_BYTES = 4;
+    public static final int DEFAULT_BATCH = 64;
+
+    // Header: magic, side moving first, then each player's kind
+    private static final int FIRST_SIDE_AT = 4;
+    private static final int PLAYER_KINDS_AT = 5;
+
+    private final FileChannel channel;
+    private final Game game;
+    private final SyncPolicy policy;
+    private final ByteBuffer pending;
+    private final int[] playerKinds;
+    private long moveCount;
+    private IOException failure;
+
+/**
+ * Constructs a journal over an open channel positioned at its end.
+ */
+    private MoveJournal(FileChannel channel, Game game, SyncPolicy policy, int batchSize, long moveCount,
+            int player1Kind, int player2Kind) {
+        this.channel = channel;
+        this.game = game;
+        this.policy = policy;
+        this.playerKinds = new int[] {player1Kind, player2Kind};
+        this.pending = ByteBuffer.allocateDirect(RECORD_BYTES * (policy == SyncPolicy.EVERY_MOVE ? 1 : batchSize));
+        this.moveCount = moveCount;
+        game.setMoveListener(this);
+    }
+
+/**
+ * Starts a new journal for a game with both player kinds recorded as 0.
+ *
+ * @param file The journal file.
+ * @param game The game to record.
+ * @param policy When appended moves are forced to disk.
+ * @param batchSize The moves buffered before a write.
+ * @return The open journal.
+ * @throws IOException If the file cannot be written.
+ */
+    public static MoveJournal create(Path file, Game game, SyncPolicy policy, int batchSize) throws IOException {
+        return create(file, game, policy, batchSize, 0, 0);
+    }
+
+/**
+ * Starts a new journal for a game, replacing any file already there.
+ * Every move the game accepts from now on is appended to it.
+ *
+ * Pre-condition:
+ * - The first player must have been determined and no move made yet.
+ * - batchSize must be positive; the player kinds must fit in a byte.
+ *
+ * Post-condition:
+ * - The file holds a header with the side that moves first and who
+ *   plays each side, so a recovered match is resumed with the same
+ *   players.
+ * - The journal is the game's move listener.
+ *
+ * @param file The journal file.
+ * @param game The game to record.
+ * @param policy When appended moves are forced to disk.
+ * @param batchSize The moves buffered before a write.
+ * @param player1Kind Who plays Player 1, in the caller's own code.
+ * @param player2Kind Who plays Player 2, in the caller's own code.
+ * @return The open journal.
+ * @throws IOException If the file cannot be written.
+ */
+    public static MoveJournal create(Path file, Game game, SyncPolicy policy, int batchSize,
+            int player1Kind, int player2Kind) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC);
+            header.put((byte) game.getBoard().getBitBoard().getSideToMove());
+            header.put((byte) player1Kind).put((byte) player2Kind);
+            header.rewind();
+            writeFully(channel, header);
+            if (policy != SyncPolicy.NEVER) {
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new MoveJournal(channel, game, policy, batchSize, 0, player1Kind, player2Kind);
+    }
+
+/**
+ * Rebuilds a game from its journal and reopens the journal for appending.
+ * The moves are replayed through Game.movePiece and switchTurn, exactly
+ * as they were played. A record torn by a crash at the end of the file
+ * is cut off.
+ *
+ * Pre-condition:
+ * - file must have been written by a MoveJournal.
+ * - batchSize must be positive.
+ *
+ * Post-condition:
+ * - getGame returns a game in the state after the last complete record.
+ * - New moves of that game are appended after it.
+ *
+ * @param file The journal file.
+ * @param policy When appended moves are forced to disk.
+ * @param batchSize The moves buffered before a write.
+ * @return The open journal.
+ * @throws IOException If the file cannot be read, is not a journal or
+ *         holds a move that is not legal in the replayed game.
+ */
+    public static MoveJournal recover(Path file, SyncPolicy policy, int batchSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size - HEADER_BYTES > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a move journal");
+            }
+            ByteBuffer contents = ByteBuffer.allocate((int) size);
+            while (contents.hasRemaining()) {
+                if (channel.read(contents) < 0) break;
+            }
+            contents.flip();
+            if (contents.getInt() != MAGIC) {
+                throw new IOException(file + " is not a move journal");
+            }
+            int firstSide = contents.get(FIRST_SIDE_AT);
+            int player1Kind = contents.get(PLAYER_KINDS_AT) & 0xFF;
+            int player2Kind = contents.get(PLAYER_KINDS_AT + 1) & 0xFF;
+            contents.position(HEADER_BYTES);
+
+            Game game = new Game();
+            // Player 1 is Blue; the stronger pick moves first
+            if (firstSide == BitBoard.BLUE) {
+                game.determineFirstPlayer("Elephant", "Rat");
+            } else {
+                game.determineFirstPlayer("Rat", "Elephant");
+            }
+
+            long moves = replay(game, contents, file);
+            long end = HEADER_BYTES + moves * RECORD_BYTES;
+            if (end < size) {
+                channel.truncate(end);
+            }
+            channel.position(end);
+            return new MoveJournal(channel, game, policy, batchSize, moves, player1Kind, player2Kind);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+/**
+ * Maps a journal read-only as a move source for replay, without reading
+ * its records until they are needed. Only complete records count; a
+ * torn last record is ignored.
+ *
+ * Pre-condition:
+ * - file must have been written by a MoveJournal.
+ *
+ * Post-condition:
+ * - The file is not modified and no channel is left open.
+ *
+ * @param file The journal file.
+ * @return The journal's moves.
+ * @throws IOException If the file cannot be read or is not a journal.
+ */
+    public static MoveSource openSource(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a move journal");
+            }
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (records.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a move journal");
+            }
+            int firstSide = records.get(FIRST_SIDE_AT);
+            int plies = (int) ((size - HEADER_BYTES) / RECORD_BYTES);
+            return new MoveSource() {
+                @Override
+                public int getFirstSide() {
+                    return firstSide;
+                }
+
+                @Override
+                public int getPlies() {
+                    return plies;
+                }
+
+                @Override
+                public int moveAt(int ply, BitBoard position) {
+                    int at = HEADER_BYTES + ply * RECORD_BYTES;
+                    int from = records.get(at) & 0xFF;
+                    int to = records.get(at + 1) & 0xFF;
+                    int flags = Math.abs(BitBoard.rowOf(from) - BitBoard.rowOf(to))
+                        + Math.abs(BitBoard.colOf(from) - BitBoard.colOf(to)) > 1 ? Move.LEAP : Move.NONE;
+                    if ((position.getOccupancy(position.getSideToMove() ^ 1) & BitBoard.bit(to)) != 0) {
+                        flags |= Move.CAPTURE;
+                    }
+                    return Move.encode(from, to, flags);
+                }
+            };
+        }
+    }
+
+/**
+ * Plays the records of a journal into a game until the first record
+ * that is incomplete or fails its check byte.
+ *
+ * @return The number of moves played.
+ */
+    private static long replay(Game game, ByteBuffer records, Path file) throws IOException {
+        Board board = game.getBoard();
+        long moves = 0;
+        while (records.remaining() >= RECORD_BYTES) {
+            int from = records.get() & 0xFF;
+            int to = records.get() & 0xFF;
+            int sequence = records.get() & 0xFF;
+            int check = records.get() & 0xFF;
+            if (check != checkByte(from, to, sequence) || sequence != (int) (moves & 0xFF)
+                    || from >= BitBoard.SQUARES || to >= BitBoard.SQUARES) {
+                break;
+            }
+            if (game.getGameState().checkVictory()) {
+                throw new IOException(file + " continues after the game ended, at move " + moves);
+            }
+            Tile fromTile = board.getTile(BitBoard.rowOf(from), BitBoard.colOf(from));
+            Piece piece = fromTile.getCurrPiece();
+            if (piece == null || !piece.getOwner().equals(game.getCurrentPlayer().getName())) {
+                throw new IOException(file + " has no piece to move at move " + moves);
+            }
+            try {
+                game.movePiece(piece, board.getTile(BitBoard.rowOf(to), BitBoard.colOf(to)));
+            } catch (RuntimeException e) {
+                throw new IOException(file + " has an illegal move at move " + moves + ": " + e.getMessage());
+            }
+            if (!game.getGameState().checkVictory()) {
+                game.switchTurn();
+            }
+            moves++;
+        }
+        return moves;
+    }
+
+/**
+ * Appends an accepted move. Under EVERY_MOVE it is on disk before this
+ * returns; otherwise it is written when the batch fills.
+ *
+ * Pre-condition:
+ * - The journal must be open.
+ *
+ * Post-condition:
+ * - The move is recorded. If the write fails nothing is thrown, since
+ *   the move has already been played: the buffered moves are dropped,
+ *   the journal is marked failed (see getFailure) and records nothing
+ *   more.
+ *
+ * @param from The square the piece moved from.
+ * @param to The square the piece moved to or attacked.
+ */
+    @Override
+    public void moveAccepted(int from, int to) {
+        if (failure != null) return;
+        int sequence = (int) (moveCount & 0xFF);
+        pending.put((byte) from).put((byte) to).put((byte) sequence).put((byte) checkByte(from, to, sequence));
+        moveCount++;
+        if (!pending.hasRemaining()) {
+            try {
+                writePending(policy != SyncPolicy.NEVER);
+            } catch (IOException e) {
+                pending.clear();
+                failure = e;
+            }
+        }
+    }
+
+/**
+ * Gets the error that stopped this journal recording.
+ *
+ * @return The failed write's exception, or null if every write succeeded.
+ */
+    public IOException getFailure() {
+        return failure;
+    }
+
+/**
+ * Writes every buffered move and forces the file to disk unless the
+ * policy is NEVER.
+ *
+ * Pre-condition:
+ * - The journal must be open.
+ *
+ * Post-condition:
+ * - Every accepted move has been handed to the file.
+ *
+ * @throws IOException If the write fails or an earlier one did.
+ */
+    public void flush() throws IOException {
+        if (failure != null) throw failure;
+        writePending(policy != SyncPolicy.NEVER);
+    }
+
+/**
+ * Writes every buffered move, forces the file to disk and closes it.
+ *
+ * Pre-condition:
+ * - None.
+ *
+ * Post-condition:
+ * - The game no longer reports moves to this journal.
+ * - A failed journal is closed without writing again.
+ *
+ * @throws IOException If the write fails.
+ */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) return;
+        try {
+            game.setMoveListener(null);
+            if (failure == null) {
+                writePending(true);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+/**
+ * Gets the game this journal records.
+ *
+ * @return The game.
+ */
+    public Game getGame() {
+        return game;
+    }
+
+/**
+ * Gets who plays a side, as recorded when the journal was created.
+ *
+ * @param player 1 or 2.
+ * @return The player kind; 0 in journals written without one.
+ */
+    public int getPlayerKind(int player) {
+        return playerKinds[player - 1];
+    }
+
+/**
+ * Gets the number of moves in the journal, including buffered ones.
+ *
+ * @return The move count.
+ */
+    public long getMoveCount() {
+        return moveCount;
+    }
+
+    private void writePending(boolean force) throws IOException {
+        if (pending.position() > 0) {
+            pending.flip();
+            writeFully(channel, pending);
+            pending.clear();
+        }
+        if (force) {
+            channel.force(false);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+/**
+ * Computes the check byte of a record. It is never zero for a real move,
+ * so a zero-filled tail left by a crash is always rejected.
+ */
+    private static int checkByte(int from, int to, int sequence) {
+        int check = (from * 31 + to * 7 + sequence * 13 + 0x5A) & 0xFF;
+        return check == 0 ? 1 : check;
+    }
+}
@@ -0,0 +1,39 @@
+package storage;
+
+import model.BitBoard;
+
+/**
+ * A recorded game whose moves are read one at a time, so a replay never
+ * has to load the whole game.
+ */
+public interface MoveSource {
+/**
+ * Gets the side that moved first.
+ *
+ * @return BLUE or GREEN.
+ */
+    int getFirstSide();
+
+/**
+ * Gets the number of moves in the game.
+ *
+ * @return The number of plies.
+ */
+    int getPlies();
+
+/**
+ * Reads one move of the game.
+ *
+ * Pre-condition:
+ * - ply must be below getPlies().
+ * - position must be the game's position before that move.
+ *
+ * Post-condition:
+ * - Returns the encoded move, with its capture and leap flags.
+ *
+ * @param ply The move index.
+ * @param position The position the move is played from.
+ * @return The encoded move.
+ */
+    int moveAt(int ply, BitBoard position);
+}
@@ -0,0 +1,284 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import model.BitBoard;
+import model.Move;
+import model.MoveGenerator;
+
+public class OpeningBook implements AutoCloseable {
+    // "JKOB"
+    public static final int MAGIC = 0x4A4B4F42;
+    public static final int HEADER_BYTES = 16;
+
+    // Entry: Zobrist key, games, then points << 8 | packed move
+    public static final int ENTRY_BYTES = 16;
+
+    // Counts stop here so points, at most two per game, fit in 24 bits
+    public static final int MAX_GAMES = (1 << 23) - 1;
+
+    private static final int MAX_PLY_AT = 4;
+    private static final int COUNT_AT = 8;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+    private final int count;
+    private final int maxPly;
+
+/**
+ * Maps an open book file.
+ */
+    private OpeningBook(FileChannel channel, MappedByteBuffer entries, int count, int maxPly) {
+        this.channel = channel;
+        this.entries = entries;
+        this.count = count;
+        this.maxPly = maxPly;
+    }
+
+/**
+ * Builds an opening book from the first maxPly moves of every game in a
+ * database. Each entry is a position, a move played there, how many games
+ * played it and the points the mover scored: two for a win, one for a
+ * draw. Entries are sorted by Zobrist key, then move, so probes are a
+ * binary search over the mapped file.
+ *
+ * Pre-condition:
+ * - No thread is appending to database.
+ * - maxPly must be non-negative and minGames positive; the moves must fit
+ *   in memory while sorting and the file in one mapping.
+ *
+ * Post-condition:
+ * - file holds the book, replacing any file already there. Moves played
+ *   in fewer than minGames games are left out.
+ *
+ * @param database The recorded games.
+ * @param file The book file.
+ * @param maxPly The number of moves read from the start of each game.
+ * @param minGames The games a move needs to be kept.
+ * @return The number of entries written.
+ * @throws IOException If the file cannot be written.
+ */
+    public static int build(GameDatabase database, Path file, int maxPly, int minGames) throws IOException {
+        int games = database.getGameCount();
+        long[] keys = new long[16];
+        int[] moves = new int[16];
+        int size = 0;
+
+        BitBoard position = new BitBoard();
+        for (int game = 0; game < games; game++) {
+            if (!database.isCommitted(game)) continue;
+            database.startPosition(game, position);
+            int winner = database.getWinner(game);
+            int plies = Math.min(maxPly, database.getPlies(game));
+            for (int ply = 0; ply < plies; ply++) {
+                int packed = database.getPackedMove(game, ply);
+                int side = position.getSideToMove();
+                int points = winner == side ? 2 : winner == BitBoard.EMPTY ? 1 : 0;
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size * 2);
+                    moves = Arrays.copyOf(moves, size * 2);
+                }
+                keys[size] = position.getKey();
+                moves[size++] = packed << 2 | points;
+                position.makeMove(Move.unpack(position, packed));
+            }
+        }
+        PositionIndex.sort(keys, moves, 0, size - 1);
+        return write(file, keys, moves, size, maxPly, minGames);
+    }
+
+/**
+ * Opens a book built by build.
+ *
+ * Pre-condition:
+ * - file must have been written by build.
+ *
+ * Post-condition:
+ * - The book is mapped read-only; nothing is loaded onto the heap.
+ *
+ * @param file The book file.
+ * @return The open book.
+ * @throws IOException If the file cannot be read or is not a book.
+ */
+    public static OpeningBook open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (entries.limit() < HEADER_BYTES || entries.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not an opening book");
+            }
+            return new OpeningBook(channel, entries, entries.getInt(COUNT_AT), entries.getInt(MAX_PLY_AT));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+/**
+ * Looks up the book moves of a position. Safe to call from several
+ * threads at once.
+ *
+ * Pre-condition:
+ * - moves, games and points must be the same length.
+ *
+ * Post-condition:
+ * - Up to moves.length candidates are written, in the order stored:
+ *   the encoded move (see model.Move), the games that played it and the
+ *   points the mover scored. position is unchanged.
+ *
+ * @param position The position to look up.
+ * @param moves Receives the moves.
+ * @param games Receives each move's game count.
+ * @param points Receives each move's points.
+ * @return The number of candidates written.
+ */
+    public int probe(BitBoard position, int[] moves, int[] games, int[] points) {
+        long key = position.getKey();
+        int side = position.getSideToMove();
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int found = 0;
+        for (int i = low; i < count && keyAt(i) == key && found < moves.length; i++) {
+            int info = entries.getInt(HEADER_BYTES + i * ENTRY_BYTES + 12);
+            int packed = info & 0xFF;
+            // A Zobrist collision may name an animal that is no longer on the board
+            if (position.getPieces(side, packed >>> 2) == 0) continue;
+            moves[found] = Move.unpack(position, packed);
+            games[found] = entries.getInt(HEADER_BYTES + i * ENTRY_BYTES + 8);
+            points[found++] = info >>> 8;
+        }
+        return found;
+    }
+
+/**
+ * Picks the book move with the best average score among those played in
+ * at least minGames games, preferring the more played move on a tie.
+ *
+ * Pre-condition:
+ * - minGames must be positive.
+ *
+ * Post-condition:
+ * - Returns a legal move of the position, or -1 if the book has none.
+ *
+ * @param position The position to look up.
+ * @param minGames The games a move needs to be trusted.
+ * @return The chosen encoded move, or -1.
+ */
+    public int bestMove(BitBoard position, int minGames) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int[] games = new int[MoveGenerator.MAX_MOVES];
+        int[] points = new int[MoveGenerator.MAX_MOVES];
+        int found = probe(position, moves, games, points);
+
+        int[] legal = new int[MoveGenerator.MAX_MOVES];
+        int legalCount = MoveGenerator.generate(position, position.getSideToMove(), legal, 0);
+        int best = -1;
+        for (int i = 0; i < found; i++) {
+            if (games[i] < minGames || !contains(legal, legalCount, moves[i])) continue;
+            if (best < 0) {
+                best = i;
+                continue;
+            }
+            // Compare points / games without dividing
+            long score = (long) points[i] * games[best];
+            long bestScore = (long) points[best] * games[i];
+            if (score > bestScore || (score == bestScore && games[i] > games[best])) {
+                best = i;
+            }
+        }
+        return best < 0 ? -1 : moves[best];
+    }
+
+/**
+ * Gets the number of entries in the book.
+ *
+ * @return The entry count.
+ */
+    public int size() {
+        return count;
+    }
+
+/**
+ * Gets the number of moves read from each game when the book was built.
+ *
+ * @return The book depth in plies.
+ */
+    public int getMaxPly() {
+        return maxPly;
+    }
+
+/**
+ * Closes the book file.
+ *
+ * @throws IOException If the file cannot be closed.
+ */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long keyAt(int i) {
+        return entries.getLong(HEADER_BYTES + i * ENTRY_BYTES);
+    }
+
+    private static boolean contains(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) return true;
+        }
+        return false;
+    }
+
+/**
+ * Merges the sorted moves into one entry per position and move and
+ * writes them through a reused buffer.
+ */
+    private static int write(Path file, long[] keys, int[] moves, int size, int maxPly, int minGames)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            buffer.putInt(MAGIC).putInt(maxPly).putInt(0).putInt(0);
+            int entries = 0;
+            int i = 0;
+            while (i < size) {
+                long key = keys[i];
+                int packed = moves[i] >>> 2;
+                int games = 0;
+                int points = 0;
+                for (; i < size && keys[i] == key && moves[i] >>> 2 == packed; i++) {
+                    if (games < MAX_GAMES) {
+                        games++;
+                        points += moves[i] & 3;
+                    }
+                }
+                if (games < minGames) continue;
+                if (buffer.remaining() < ENTRY_BYTES) {
+                    PositionIndex.drain(channel, buffer);
+                }
+                buffer.putLong(key).putInt(games).putInt(points << 8 | packed);
+                entries++;
+            }
+            PositionIndex.drain(channel, buffer);
+
+            buffer.clear();
+            buffer.putInt(entries).flip();
+            channel.write(buffer, COUNT_AT);
+            channel.force(true);
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import model.BitBoard;
+import model.Move;
+
+public class PositionIndex implements AutoCloseable {
+    // "JKPI"
+    public static final int MAGIC = 0x4A4B5049;
+    public static final int HEADER_BYTES = 16;
+
+    // Entry: Zobrist key, then game number
+    public static final int ENTRY_BYTES = 12;
+
+    private static final int COUNT_AT = 8;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+    private final int count;
+
+/**
+ * Maps an open index file.
+ */
+    private PositionIndex(FileChannel channel, MappedByteBuffer entries, int count) {
+        this.channel = channel;
+        this.entries = entries;
+        this.count = count;
+    }
+
+/**
+ * Builds the position index of a database: every position reached in the
+ * first maxPly moves of each game, sorted by Zobrist key so lookups are a
+ * binary search over the mapped file. A position repeated within a game
+ * is listed once for it.
+ *
+ * Pre-condition:
+ * - No thread is appending to database.
+ * - maxPly must be non-negative; the entries must fit in memory while
+ *   sorting and the file in one mapping.
+ *
+ * Post-condition:
+ * - file holds the index, replacing any file already there.
+ *
+ * @param database The games to index.
+ * @param file The index file.
+ * @param maxPly The number of moves indexed from the start of each game.
+ * @throws IOException If the file cannot be written.
+ */
+    public static void build(GameDatabase database, Path file, int maxPly) throws IOException {
+        int games = database.getGameCount();
+        long[] keys = new long[16];
+        int[] owners = new int[16];
+        int size = 0;
+
+        BitBoard position = new BitBoard();
+        for (int game = 0; game < games; game++) {
+            if (!database.isCommitted(game)) continue;
+            database.startPosition(game, position);
+            int plies = Math.min(maxPly, database.getPlies(game));
+            for (int ply = 0; ply <= plies; ply++) {
+                if (ply > 0) {
+                    position.makeMove(Move.unpack(position, database.getPackedMove(game, ply - 1)));
+                }
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size * 2);
+                    owners = Arrays.copyOf(owners, size * 2);
+                }
+                keys[size] = position.getKey();
+                owners[size++] = game;
+            }
+        }
+        sort(keys, owners, 0, size - 1);
+
+        // A position repeated within one game is kept once
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique > 0 && keys[i] == keys[unique - 1] && owners[i] == owners[unique - 1]) continue;
+            keys[unique] = keys[i];
+            owners[unique++] = owners[i];
+        }
+        write(file, keys, owners, unique);
+    }
+
+/**
+ * Opens an index built by build.
+ *
+ * Pre-condition:
+ * - file must have been written by build.
+ *
+ * Post-condition:
+ * - The index is mapped read-only.
+ *
+ * @param file The index file.
+ * @return The open index.
+ * @throws IOException If the file cannot be read or is not an index.
+ */
+    public static PositionIndex open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (entries.limit() < HEADER_BYTES || entries.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a position index");
+            }
+            return new PositionIndex(channel, entries, entries.getInt(COUNT_AT));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+/**
+ * Finds the games that reached a position.
+ *
+ * Pre-condition:
+ * - games must not be null.
+ *
+ * Post-condition:
+ * - games holds up to games.length game numbers, in increasing order.
+ *
+ * @param key The position's Zobrist key.
+ * @param games Receives the game numbers.
+ * @return The total number of games that reached the position, which
+ *         may be more than were written.
+ */
+    public int find(long key, int[] games) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int found = 0;
+        for (int i = low; i < count && keyAt(i) == key; i++) {
+            if (found < games.length) {
+                games[found] = entries.getInt(HEADER_BYTES + i * ENTRY_BYTES + 8);
+            }
+            found++;
+        }
+        return found;
+    }
+
+/**
+ * Gets the number of entries in the index.
+ *
+ * @return The entry count.
+ */
+    public int size() {
+        return count;
+    }
+
+/**
+ * Closes the index file.
+ *
+ * @throws IOException If the file cannot be closed.
+ */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long keyAt(int i) {
+        return entries.getLong(HEADER_BYTES + i * ENTRY_BYTES);
+    }
+
+/**
+ * Writes the sorted entries through a reused buffer.
+ */
+    private static void write(Path file, long[] keys, int[] owners, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            buffer.putInt(MAGIC).putInt(0).putInt(size).putInt(0);
+            for (int i = 0; i < size; i++) {
+                if (buffer.remaining() < ENTRY_BYTES) {
+                    drain(channel, buffer);
+                }
+                buffer.putLong(keys[i]).putInt(owners[i]);
+            }
+            drain(channel, buffer);
+            channel.force(true);
+        }
+    }
+
+    static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+/**
+ * Sorts entries by key, then by the paired int, keeping keys and owners
+ * paired. Shared with OpeningBook.
+ */
+    static void sort(long[] keys, int[] owners, int low, int high) {
+        while (low < high) {
+            long pivotKey = keys[(low + high) >>> 1];
+            int pivotOwner = owners[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (before(keys[i], owners[i], pivotKey, pivotOwner)) i++;
+                while (before(pivotKey, pivotOwner, keys[j], owners[j])) j--;
+                if (i <= j) {
+                    long key = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = key;
+                    int owner = owners[i];
+                    owners[i] = owners[j];
+                    owners[j] = owner;
+                    i++;
+                    j--;
+                }
+            }
+            // Recurse into the smaller half so the stack stays shallow
+            if (j - low < high - i) {
+                sort(keys, owners, low, j);
+                low = i;
+            } else {
+                sort(keys, owners, i, high);
+                high = j;
+            }
+        }
+    }
+
+    private static boolean before(long key, int owner, long otherKey, int otherOwner) {
+        return key < otherKey || (key == otherKey && owner < otherOwner);
+    }
+}
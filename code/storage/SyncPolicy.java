@@ -0,0 +1,10 @@
+package storage;
+
+public enum SyncPolicy {
+    // Write and force every move to disk before movePiece returns
+    EVERY_MOVE,
+    // Write and force once per full batch of moves, and on flush and close
+    EVERY_BATCH,
+    // Write once per full batch and leave forcing to the operating system
+    NEVER
+}
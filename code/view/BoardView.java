@@ -4,12 +4,15 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import controller.BoardController;
+import controller.ReplayController;
 import model.Board;
 import model.tiles.*;
 import model.pieces.Piece;
 
 public class BoardView {
     private static final int TILE_SIZE = 80;
+    private static final Color LAND_COLOR = new Color(200, 200, 200);
+    private static final Color LAKE_COLOR = new Color(165, 206, 230);
 
     private JFrame displayFrame;
     private JPanel boardPanel;
@@ -18,7 +21,14 @@ public class BoardView {
     private JLabel eventLabel;
     private JButton[][] tiles;
     private BoardController controller;
+    private ReplayController replayController;
     private Board board;
+    private JSlider replaySlider;
+    private JLabel replayLabel;
+
+    // Icons loaded once, indexed by piece code and by terrain code
+    private ImageIcon[] pieceIcons;
+    private ImageIcon[] terrainIcons;
 
 /**
  * Constructs the BoardView for rendering the game board UI.
@@ -35,10 +45,41 @@ public class BoardView {
     public BoardView(BoardController controller, Board board) {
         this.controller = controller;
         this.board = board;
+        loadIcons();
         initializeFrame();
         createBoard();
     }
 
+/**
+ * Constructs the BoardView in replay mode: the tiles only display, and
+ * the buttons step through a recorded game instead of playing one.
+ *
+ * Pre-condition:
+ * - replayController and board must be initialized.
+ *
+ * Post-condition:
+ * - Creates and prepares the GUI components but does not display them yet.
+ * - Closing the window closes the replay instead of the application.
+ *
+ * @param replayController The ReplayController handling the replay buttons.
+ * @param board The Board model the replay updates.
+ */
+    public BoardView(ReplayController replayController, Board board) {
+        this.replayController = replayController;
+        this.board = board;
+        loadIcons();
+        initializeFrame();
+        createBoard();
+        displayFrame.setTitle("Jungle King - Replay");
+        displayFrame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        displayFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                replayController.closeReplay();
+            }
+        });
+    }
+
 /**
  * Initializes the display frame with layout and sizing.
  *
@@ -83,19 +124,63 @@ public class BoardView {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 0));
         buttonPanel.setBackground(new Color(245, 245, 245));
         
-        JButton restartButton = new JButton("Restart");
-        JButton menuButton = new JButton("Menu");
-        
-        restartButton.addActionListener(e -> controller.restartGame());
-        menuButton.addActionListener(e -> controller.returnToMenu());
-        
-        buttonPanel.add(restartButton);
-        buttonPanel.add(menuButton);
+        if (replayController != null) {
+            createReplayButtons(buttonPanel);
+        } else {
+            JButton restartButton = new JButton("Restart");
+            JButton menuButton = new JButton("Menu");
+            
+            restartButton.addActionListener(e -> controller.restartGame());
+            menuButton.addActionListener(e -> controller.returnToMenu());
+            
+            buttonPanel.add(restartButton);
+            buttonPanel.add(menuButton);
+        }
         container.add(buttonPanel, BorderLayout.SOUTH);
 
         displayFrame.add(container);
     }
 
+/**
+ * Creates the replay controls: step buttons, a slider over every ply and
+ * a button back to the menu.
+ *
+ * Pre-condition:
+ * - replayController must be set.
+ *
+ * Post-condition:
+ * - The controls are added to the panel.
+ *
+ * @param buttonPanel The panel to add the controls to.
+ */
+    private void createReplayButtons(JPanel buttonPanel) {
+        JButton firstButton = new JButton("|<");
+        JButton backButton = new JButton("<");
+        JButton forwardButton = new JButton(">");
+        JButton lastButton = new JButton(">|");
+        JButton menuButton = new JButton("Menu");
+
+        replaySlider = new JSlider(0, replayController.getPlies(), 0);
+        replaySlider.setPreferredSize(new Dimension(Board.getCols() * TILE_SIZE / 3, 30));
+        replaySlider.setBackground(new Color(245, 245, 245));
+        replayLabel = new JLabel();
+
+        firstButton.addActionListener(e -> replayController.seek(0));
+        backButton.addActionListener(e -> replayController.stepBack());
+        forwardButton.addActionListener(e -> replayController.stepForward());
+        lastButton.addActionListener(e -> replayController.seek(replayController.getPlies()));
+        menuButton.addActionListener(e -> replayController.closeReplay());
+        replaySlider.addChangeListener(e -> replayController.seek(replaySlider.getValue()));
+
+        buttonPanel.add(firstButton);
+        buttonPanel.add(backButton);
+        buttonPanel.add(replaySlider);
+        buttonPanel.add(forwardButton);
+        buttonPanel.add(lastButton);
+        buttonPanel.add(replayLabel);
+        buttonPanel.add(menuButton);
+    }
+
 /**
  * Creates the top panel showing player turn and game events.
  *
@@ -149,7 +234,9 @@ public class BoardView {
                 
                 final int finalRow = row;
                 final int finalCol = col;
-                tile.addActionListener(e -> controller.onTileClicked(finalRow, finalCol));
+                tile.addActionListener(e -> {
+                    if (controller != null) controller.onTileClicked(finalRow, finalCol);
+                });
                 
                 Tile boardTile = board.getTile(row, col);
                 setupTileAppearance(tile, boardTile);
@@ -160,6 +247,32 @@ public class BoardView {
         }
     }
 
+/**
+ * Loads and scales every piece and terrain icon once.
+ *
+ * Pre-condition:
+ * - The icon files must exist in ../resources/.
+ *
+ * Post-condition:
+ * - pieceIcons holds an icon for each of the 16 piece codes.
+ * - terrainIcons holds the trap and home base icons; land and lake have none.
+ */
+    private void loadIcons() {
+        pieceIcons = new ImageIcon[16];
+        for (int animal = 0; animal < 8; animal++) {
+            String name = Piece.nameOf(animal).toLowerCase();
+            pieceIcons[animal] = loadScaledIcon("b_" + name + ".png");
+            pieceIcons[8 | animal] = loadScaledIcon("g_" + name + ".png");
+        }
+
+        terrainIcons = new ImageIcon[6];
+        ImageIcon trap = loadScaledIcon("trap.png");
+        terrainIcons[Tile.BLUE_TRAP] = trap;
+        terrainIcons[Tile.GREEN_TRAP] = trap;
+        terrainIcons[Tile.BLUE_HOME] = loadScaledIcon("b_homebase.png");
+        terrainIcons[Tile.GREEN_HOME] = loadScaledIcon("g_homebase.png");
+    }
+
 /**
  * Updates the visual appearance of a tile based on its type and piece.
  *
@@ -168,46 +281,20 @@ public class BoardView {
  *
  * Post-condition:
  * - Button is styled with correct color and icon based on game state.
+ * - Icons come from the caches, so nothing is loaded or scaled here.
  *
  * @param tile The JButton to modify.
  * @param boardTile The Tile model tied to that button.
  */
     private void setupTileAppearance(JButton tile, Tile boardTile) {
-        // reset default tile
-        tile.setBackground(new Color(200, 200, 200));
-        tile.setIcon(null);
-
-        // setup special tiles
-        if (boardTile instanceof Lake) {
-            tile.setBackground(new Color(165, 206, 230));
-        } else if (boardTile instanceof Trap) {
-            Trap trap = (Trap) boardTile;
-            String owner = trap.getOwner();
-            if (owner != null) {
-                if (!boardTile.isOccupied()) {
-                    tile.setIcon(loadScaledIcon("trap.png"));
-                }
-            }
-        } else if (boardTile instanceof HomeBase) {
-            HomeBase home = (HomeBase) boardTile;
-            String owner = home.getOwner();
-            if (owner != null && !boardTile.isOccupied()) {
-                String prefix = owner.equals("Blue") ? "b_" : "g_";
-                tile.setIcon(loadScaledIcon(prefix + "homebase.png"));
-            }
-        }
+        byte terrain = boardTile.getTerrain();
+        tile.setBackground(terrain == Tile.LAKE ? LAKE_COLOR : LAND_COLOR);
 
-        // put piece on tile
+        // a piece covers the trap or home base icon
         if (boardTile.isOccupied()) {
-            Piece piece = boardTile.getCurrPiece();
-            if (piece != null) {
-                String pieceName = piece.getClass().getSimpleName();
-                String owner = piece.getOwner();
-                if (owner != null) {
-                    String prefix = owner.equals("Blue") ? "b_" : "g_";
-                    tile.setIcon(loadScaledIcon(prefix + pieceName.toLowerCase() + ".png"));
-                }
-            }
+            tile.setIcon(pieceIcons[boardTile.getCurrPiece().getCode()]);
+        } else {
+            tile.setIcon(terrainIcons[terrain]);
         }
     }
 
@@ -317,6 +404,25 @@ public class BoardView {
         eventLabel.setText(message);
     }
 
+/**
+ * Shows which ply a replay is at.
+ *
+ * Pre-condition:
+ * - The view must be in replay mode.
+ *
+ * Post-condition:
+ * - The slider and counter show ply without triggering another seek.
+ *
+ * @param ply The ply shown.
+ * @param plies The length of the game.
+ */
+    public void updateReplayPosition(int ply, int plies) {
+        if (replaySlider.getValue() != ply) {
+            replaySlider.setValue(ply);
+        }
+        replayLabel.setText(ply + " / " + plies);
+    }
+
 /**
  * Displays a popup message dialog to the user.
  *
@@ -3,12 +3,17 @@ package view;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
+import java.nio.file.Path;
 import controller.MenuController;
+import controller.PlayerType;
 
 public class MenuView {
     private JFrame mainFrame;
     private MenuController controller;
     private JPanel mainPanel;
+    private JComboBox<PlayerType> player1Choice;
+    private JComboBox<PlayerType> player2Choice;
 
 /**
  * Constructs the MenuView and displays the main menu UI.
@@ -73,19 +78,31 @@ public class MenuView {
         titleLabel.setFont(new Font("Arial", Font.BOLD, 36));
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
+        player1Choice = new JComboBox<>(PlayerType.values());
+        player2Choice = new JComboBox<>(PlayerType.values());
+        JPanel player1Panel = createPlayerChoice("Player 1 (Blue):", player1Choice);
+        JPanel player2Panel = createPlayerChoice("Player 2 (Green):", player2Choice);
+
         JButton startButton = createMenuButton("Start Game");
+        JButton replayButton = createMenuButton("Replay");
         JButton instructionsButton = createMenuButton("Instructions");
         JButton exitButton = createMenuButton("Exit");
 
         mainPanel.add(titleLabel);
-        mainPanel.add(Box.createRigidArea(new Dimension(0, 50)));
+        mainPanel.add(Box.createRigidArea(new Dimension(0, 30)));
+        mainPanel.add(player1Panel);
+        mainPanel.add(player2Panel);
+        mainPanel.add(Box.createRigidArea(new Dimension(0, 20)));
         mainPanel.add(startButton);
         mainPanel.add(Box.createRigidArea(new Dimension(0, 15)));
+        mainPanel.add(replayButton);
+        mainPanel.add(Box.createRigidArea(new Dimension(0, 15)));
         mainPanel.add(instructionsButton);
         mainPanel.add(Box.createRigidArea(new Dimension(0, 15)));
         mainPanel.add(exitButton);
 
         startButton.addActionListener(e -> controller.startNewGame());
+        replayButton.addActionListener(e -> controller.openReplay());
         instructionsButton.addActionListener(e -> controller.showInstructions());
         exitButton.addActionListener(e -> controller.exitGame());
 
@@ -121,6 +138,51 @@ public class MenuView {
         return button;
     }
 
+/**
+ * Creates a labelled row for choosing who controls a player.
+ *
+ * Pre-condition:
+ * - choice must be a combo box of player types.
+ *
+ * Post-condition:
+ * - Returns a panel holding the label and the combo box side by side.
+ *
+ * @param text The label text.
+ * @param choice The combo box to place.
+ * @return A JPanel containing the row.
+ */
+    private JPanel createPlayerChoice(String text, JComboBox<PlayerType> choice) {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        panel.setBackground(new Color(245, 245, 245));
+        panel.setMaximumSize(new Dimension(400, 40));
+
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Arial", Font.PLAIN, 14));
+        choice.setFont(new Font("Arial", Font.PLAIN, 14));
+        choice.setBackground(Color.WHITE);
+
+        panel.add(label);
+        panel.add(choice);
+        return panel;
+    }
+
+/**
+ * Gets the selected controller for a player.
+ *
+ * Pre-condition:
+ * - player must be 1 or 2.
+ *
+ * Post-condition:
+ * - Returns the player type chosen in the menu.
+ *
+ * @param player The player number.
+ * @return The selected PlayerType.
+ */
+    public PlayerType getPlayerType(int player) {
+        JComboBox<PlayerType> choice = player == 1 ? player1Choice : player2Choice;
+        return (PlayerType) choice.getSelectedItem();
+    }
+
 /**
  * Creates and positions a home base image icon.
  *
@@ -217,6 +279,87 @@ public class MenuView {
         );
     }
 
+/**
+ * Asks whether to resume a match that was interrupted.
+ *
+ * Pre-condition:
+ * - mainFrame must be initialized.
+ *
+ * Post-condition:
+ * - Shows a modal yes/no dialog.
+ *
+ * @param moves The number of moves played in that match.
+ * @return true if the player chose to resume it.
+ */
+    public boolean confirmResume(long moves) {
+        int choice = JOptionPane.showConfirmDialog(
+            mainFrame,
+            "An unfinished match was found (" + moves + " moves played). Resume it?",
+            "Resume Match",
+            JOptionPane.YES_NO_OPTION
+        );
+        return choice == JOptionPane.YES_OPTION;
+    }
+
+/**
+ * Asks the user for a recorded game to replay.
+ *
+ * Pre-condition:
+ * - mainFrame must be initialized.
+ *
+ * Post-condition:
+ * - Shows a modal file chooser.
+ *
+ * @return The chosen journal or game database file, or null if cancelled.
+ */
+    public Path chooseReplayFile() {
+        JFileChooser chooser = new JFileChooser(new File("."));
+        chooser.setDialogTitle("Open Move Journal or Game Database");
+        if (chooser.showOpenDialog(mainFrame) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return chooser.getSelectedFile().toPath();
+    }
+
+/**
+ * Asks which game of a game database to replay.
+ *
+ * Pre-condition:
+ * - count must be positive.
+ *
+ * Post-condition:
+ * - Shows a modal input dialog.
+ *
+ * @param count The number of games in the database.
+ * @return A game number in 0..count-1, or -1 if cancelled or invalid.
+ */
+    public int askGameNumber(int count) {
+        String answer = JOptionPane.showInputDialog(mainFrame,
+            "The database holds " + count + " games. Game number (0 to " + (count - 1) + "):", "0");
+        if (answer == null) return -1;
+        try {
+            int game = Integer.parseInt(answer.trim());
+            return game >= 0 && game < count ? game : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+/**
+ * Displays an error message over the menu.
+ *
+ * Pre-condition:
+ * - message must be non-null.
+ *
+ * Post-condition:
+ * - Shows a blocking error dialog.
+ *
+ * @param message The message to display.
+ */
+    public void showError(String message) {
+        JOptionPane.showMessageDialog(mainFrame, message, "Jungle King", JOptionPane.ERROR_MESSAGE);
+    }
+
 /**
  * Shows or hides the menu window.
  *